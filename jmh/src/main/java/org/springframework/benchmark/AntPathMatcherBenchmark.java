@@ -0,0 +1,77 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Benchmarks for {@link AntPathMatcher#match} with typical scanning and mapping patterns.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AntPathMatcherBenchmark {
+
+    private AntPathMatcher pathMatcher;
+
+
+    @Setup
+    public void setup() {
+        this.pathMatcher = new AntPathMatcher();
+    }
+
+
+    @Benchmark
+    public boolean literalMatch() {
+        return this.pathMatcher.match("/api/users/list", "/api/users/list");
+    }
+
+    @Benchmark
+    public boolean wildcardMatch() {
+        return this.pathMatcher.match("/api/*/list", "/api/users/list");
+    }
+
+    @Benchmark
+    public boolean doubleWildcardMatch() {
+        return this.pathMatcher.match("org/springframework/**/*.class",
+                "org/springframework/context/annotation/Configuration.class");
+    }
+
+    @Benchmark
+    public boolean uriTemplateMatch() {
+        return this.pathMatcher.match("/api/users/{id}/orders/{orderId}", "/api/users/42/orders/7");
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Benchmarks for invocations through JDK dynamic proxies and CGLIB proxies,
+ * with a varying number of pass-through interceptors.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AopProxyBenchmark {
+
+    @Param({"0", "1", "5"})
+    public int interceptorCount;
+
+    private TestService target;
+
+    private TestService jdkProxy;
+
+    private TestService cglibProxy;
+
+
+    @Setup
+    public void setup() {
+        this.target = new TestService();
+        this.jdkProxy = (TestService) createProxyFactory(false).getProxy();
+        this.cglibProxy = (TestService) createProxyFactory(true).getProxy();
+    }
+
+    private ProxyFactory createProxyFactory(boolean proxyTargetClass) {
+        ProxyFactory proxyFactory = new ProxyFactory(this.target);
+        proxyFactory.setProxyTargetClass(proxyTargetClass);
+        if (!proxyTargetClass) {
+            proxyFactory.addInterface(Service.class);
+        }
+        for (int i = 0; i < this.interceptorCount; i++) {
+            proxyFactory.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+        }
+        return proxyFactory;
+    }
+
+
+    @Benchmark
+    public int direct() {
+        return this.target.compute(42);
+    }
+
+    @Benchmark
+    public int jdkProxy() {
+        return ((Service) this.jdkProxy).compute(42);
+    }
+
+    @Benchmark
+    public int cglibProxy() {
+        return this.cglibProxy.compute(42);
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Benchmarks for bean lookups on a {@link DefaultListableBeanFactory},
+ * with a varying number of unrelated singleton beans registered.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanFactoryBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int beanCount;
+
+    private DefaultListableBeanFactory beanFactory;
+
+
+    @Setup
+    public void setup() {
+        this.beanFactory = new DefaultListableBeanFactory();
+        for (int i = 0; i < this.beanCount; i++) {
+            this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(TestBean.class));
+        }
+        this.beanFactory.registerBeanDefinition("singleton", new RootBeanDefinition(TestService.class));
+        RootBeanDefinition prototype = new RootBeanDefinition(TestBean.class);
+        prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        this.beanFactory.registerBeanDefinition("prototype", prototype);
+        this.beanFactory.preInstantiateSingletons();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.beanFactory.destroySingletons();
+    }
+
+
+    @Benchmark
+    public Object getSingletonByName() {
+        return this.beanFactory.getBean("singleton");
+    }
+
+    @Benchmark
+    public Object getPrototypeByName() {
+        return this.beanFactory.getBean("prototype");
+    }
+
+    @Benchmark
+    public Object getSingletonByType() {
+        return this.beanFactory.getBean(TestService.class);
+    }
+
+    @Benchmark
+    public Object getBeanNamesForType() {
+        return this.beanFactory.getBeanNamesForType(TestBean.class);
+    }
+
+}
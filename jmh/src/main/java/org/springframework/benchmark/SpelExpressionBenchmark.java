@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+/**
+ * Benchmarks for evaluating a parsed SpEL expression against a root object,
+ * interpreted as well as with the compiler enabled.
+ *
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpelExpressionBenchmark {
+
+    @Param({"OFF", "MIXED"})
+    public SpelCompilerMode compilerMode;
+
+    private TestBean root;
+
+    private Expression propertyExpression;
+
+    private Expression arithmeticExpression;
+
+
+    @Setup
+    public void setup() {
+        SpelExpressionParser parser = new SpelExpressionParser(
+                new SpelParserConfiguration(this.compilerMode, getClass().getClassLoader()));
+        this.root = new TestBean("benchmark", 42);
+        this.propertyExpression = parser.parseExpression("name");
+        this.arithmeticExpression = parser.parseExpression("age * 2 + 1");
+    }
+
+
+    @Benchmark
+    public Object propertyAccess() {
+        return this.propertyExpression.getValue(this.root);
+    }
+
+    @Benchmark
+    public Object arithmetic() {
+        return this.arithmeticExpression.getValue(this.root);
+    }
+
+}
@@ -83,6 +83,13 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
     /** Cache with Method as key and advisor chain List as value */
     private transient Map<MethodCacheKey, List<Object>> methodCache;
 
+    /**
+     * Cache with Method as key and precompiled interceptor chain as value.
+     * Keyed by the Method itself: proxies pass the same Method instance on every
+     * call, which ConcurrentHashMap matches by identity without allocating a key.
+     */
+    private transient Map<Method, PrecompiledInterceptorChain> precompiledChainCache;
+
     /**
      * Interfaces to be implemented by the proxy. Held in List to keep the order
      * of registration, to create JDK proxy with specified order of interfaces.
@@ -107,6 +114,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
      */
     public AdvisedSupport() {
         this.methodCache = new ConcurrentHashMap<>(32);
+        this.precompiledChainCache = new ConcurrentHashMap<>(32);
     }
 
     /**
@@ -487,11 +495,30 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
         return cached;
     }
 
+    /**
+     * Determine the advisor chain for the given method, precompiled for invocation
+     * by an AOP proxy. Cached per method, like the List returned by
+     * {@link #getInterceptorsAndDynamicInterceptionAdvice}.
+     * @param method the proxied method
+     * @param targetClass the target class
+     * @return the precompiled interceptor chain
+     */
+    PrecompiledInterceptorChain getPrecompiledInterceptorChain(Method method, @Nullable Class<?> targetClass) {
+        PrecompiledInterceptorChain cached = this.precompiledChainCache.get(method);
+        if (cached == null) {
+            cached = new PrecompiledInterceptorChain(
+                    method, getInterceptorsAndDynamicInterceptionAdvice(method, targetClass));
+            this.precompiledChainCache.put(method, cached);
+        }
+        return cached;
+    }
+
     /**
      * Invoked when advice has changed.
      */
     protected void adviceChanged() {
         this.methodCache.clear();
+        this.precompiledChainCache.clear();
     }
 
     /**
@@ -552,6 +579,7 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 
         // Initialize transient fields.
         this.methodCache = new ConcurrentHashMap<>(32);
+        this.precompiledChainCache = new ConcurrentHashMap<>(32);
     }
 
 
@@ -671,7 +671,7 @@ class CglibAopProxy implements AopProxy, Serializable {
                 // Get as late as possible to minimize the time we "own" the target, in case it comes from a pool...
                 target = targetSource.getTarget();
                 Class<?> targetClass = (target != null ? target.getClass() : null);
-                List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+                PrecompiledInterceptorChain chain = this.advised.getPrecompiledInterceptorChain(method, targetClass);
                 Object retVal;
                 // Check whether we only have one InvokerInterceptor: that is,
                 // no real advice, but just reflective invocation of the target.
@@ -736,6 +736,15 @@ class CglibAopProxy implements AopProxy, Serializable {
             this.publicMethod = Modifier.isPublic(method.getModifiers());
         }
 
+        public CglibMethodInvocation(Object proxy, @Nullable Object target, Method method,
+                                     Object[] arguments, @Nullable Class<?> targetClass,
+                                     PrecompiledInterceptorChain chain, MethodProxy methodProxy) {
+
+            super(proxy, target, method, arguments, targetClass, chain);
+            this.methodProxy = methodProxy;
+            this.publicMethod = Modifier.isPublic(method.getModifiers());
+        }
+
         /**
          * Gives a marginal performance improvement versus using reflection to
          * invoke the target when invoking public methods.
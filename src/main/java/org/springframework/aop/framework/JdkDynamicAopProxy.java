@@ -20,7 +20,6 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.List;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -194,7 +193,7 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
             Class<?> targetClass = (target != null ? target.getClass() : null);
 
             // Get the interception chain for this method.
-            List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+            PrecompiledInterceptorChain chain = this.advised.getPrecompiledInterceptorChain(method, targetClass);
 
             // Check whether we have any advice. If we don't, we can fallback on direct
             // reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.lang.Nullable;
+
+/**
+ * Internal framework class, holding the advisor chain for a proxied method
+ * in a form that is ready for invocation, cached per method by {@link AdvisedSupport}.
+ *
+ * <p>If the chain consists of {@link MethodInterceptor MethodInterceptors} only,
+ * i.e. without any dynamic method matchers to evaluate per call, it is also
+ * available as a plain array that {@link ReflectiveMethodInvocation} walks
+ * without any per-element type checks.
+ *
+ * @since 1.0
+ * @see AdvisedSupport#getPrecompiledInterceptorChain
+ */
+final class PrecompiledInterceptorChain {
+
+    final Method bridgedMethod;
+
+    final List<Object> interceptorsAndDynamicMethodMatchers;
+
+    @Nullable
+    final MethodInterceptor[] staticInterceptors;
+
+
+    PrecompiledInterceptorChain(Method method, List<Object> interceptorsAndDynamicMethodMatchers) {
+        this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
+        this.interceptorsAndDynamicMethodMatchers = interceptorsAndDynamicMethodMatchers;
+        this.staticInterceptors = resolveStaticInterceptors(interceptorsAndDynamicMethodMatchers);
+    }
+
+
+    /**
+     * Return whether the chain does not contain any advice.
+     */
+    boolean isEmpty() {
+        return this.interceptorsAndDynamicMethodMatchers.isEmpty();
+    }
+
+
+    @Nullable
+    private static MethodInterceptor[] resolveStaticInterceptors(List<Object> interceptorsAndDynamicMethodMatchers) {
+        MethodInterceptor[] interceptors = new MethodInterceptor[interceptorsAndDynamicMethodMatchers.size()];
+        for (int i = 0; i < interceptors.length; i++) {
+            Object interceptorOrInterceptionAdvice = interceptorsAndDynamicMethodMatchers.get(i);
+            if (!(interceptorOrInterceptionAdvice instanceof MethodInterceptor)) {
+                return null;
+            }
+            interceptors[i] = (MethodInterceptor) interceptorOrInterceptionAdvice;
+        }
+        return interceptors;
+    }
+
+}
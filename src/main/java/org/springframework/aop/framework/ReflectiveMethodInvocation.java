@@ -85,6 +85,13 @@ public class ReflectiveMethodInvocation implements ProxyMethodInvocation, Clonea
      */
     protected final List<?> interceptorsAndDynamicMethodMatchers;
 
+    /**
+     * The same interceptors as a plain array, if the chain does not
+     * contain any dynamic method matchers, or {@code null} otherwise.
+     */
+    @Nullable
+    private final MethodInterceptor[] staticInterceptors;
+
     /**
      * Index from 0 of the current interceptor we're invoking.
      * -1 until we invoke: then the current interceptor.
@@ -115,6 +122,30 @@ public class ReflectiveMethodInvocation implements ProxyMethodInvocation, Clonea
         this.method = BridgeMethodResolver.findBridgedMethod(method);
         this.arguments = AopProxyUtils.adaptArgumentsIfNecessary(method, arguments);
         this.interceptorsAndDynamicMethodMatchers = interceptorsAndDynamicMethodMatchers;
+        this.staticInterceptors = null;
+    }
+
+    /**
+     * Construct a new ReflectiveMethodInvocation for the given precompiled chain,
+     * reusing its bridged method and walking its static interceptor array if available.
+     * @param proxy the proxy object that the invocation was made on
+     * @param target the target object to invoke
+     * @param method the method to invoke
+     * @param arguments the arguments to invoke the method with
+     * @param targetClass the target class, for MethodMatcher invocations
+     * @param chain the precompiled interceptor chain for the method
+     */
+    ReflectiveMethodInvocation(
+            Object proxy, @Nullable Object target, Method method, @Nullable Object[] arguments,
+            @Nullable Class<?> targetClass, PrecompiledInterceptorChain chain) {
+
+        this.proxy = proxy;
+        this.target = target;
+        this.targetClass = targetClass;
+        this.method = chain.bridgedMethod;
+        this.arguments = AopProxyUtils.adaptArgumentsIfNecessary(method, arguments);
+        this.interceptorsAndDynamicMethodMatchers = chain.interceptorsAndDynamicMethodMatchers;
+        this.staticInterceptors = chain.staticInterceptors;
     }
 
 
@@ -158,6 +189,15 @@ public class ReflectiveMethodInvocation implements ProxyMethodInvocation, Clonea
     @Override
     @Nullable
     public Object proceed() throws Throwable {
+        MethodInterceptor[] interceptors = this.staticInterceptors;
+        if (interceptors != null) {
+            // Static chain: no dynamic method matchers to evaluate.
+            if (this.currentInterceptorIndex == interceptors.length - 1) {
+                return invokeJoinpoint();
+            }
+            return interceptors[++this.currentInterceptorIndex].invoke(this);
+        }
+
         //	We start with an index of -1 and increment early.
         if (this.currentInterceptorIndex == this.interceptorsAndDynamicMethodMatchers.size() - 1) {
             return invokeJoinpoint();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -42,6 +42,7 @@ import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
@@ -76,6 +77,13 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
      */
     private static final Log logger = LogFactory.getLog(AbstractNestablePropertyAccessor.class);
 
+    /**
+     * Parsed property paths, shared across accessors: property path --> tokens.
+     * Soft references let the garbage collector reclaim entries for rarely used paths.
+     */
+    private static final Map<String, ParsedPropertyName> parsedPropertyNameCache =
+            new ConcurrentReferenceHashMap<>(256);
+
     private int autoGrowCollectionLimit = Integer.MAX_VALUE;
 
     @Nullable
@@ -921,11 +929,27 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
     }
 
     /**
-     * Parse the given property name into the corresponding property name tokens.
+     * Obtain the property name tokens for the given property name,
+     * parsing each distinct property path only once.
      * @param propertyName the property name to parse
-     * @return representation of the parsed property tokens
+     * @return representation of the parsed property tokens (a new holder
+     * for every call, since subclasses may modify it)
      */
     private PropertyTokenHolder getPropertyNameTokens(String propertyName) {
+        ParsedPropertyName parsed = parsedPropertyNameCache.get(propertyName);
+        if (parsed == null) {
+            parsed = parsePropertyName(propertyName);
+            parsedPropertyNameCache.put(propertyName, parsed);
+        }
+        return parsed.toTokenHolder();
+    }
+
+    /**
+     * Parse the given property name into the corresponding property name tokens.
+     * @param propertyName the property name to parse
+     * @return the immutable representation of the parsed property tokens
+     */
+    private static ParsedPropertyName parsePropertyName(String propertyName) {
         String actualName = null;
         List<String> keys = new ArrayList<>(2);
         int searchIndex = 0;
@@ -948,14 +972,14 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
                 }
             }
         }
-        PropertyTokenHolder tokens = new PropertyTokenHolder(actualName != null ? actualName : propertyName);
-        if (!keys.isEmpty()) {
-            tokens.canonicalName += PROPERTY_KEY_PREFIX +
-                    StringUtils.collectionToDelimitedString(keys, PROPERTY_KEY_SUFFIX + PROPERTY_KEY_PREFIX) +
-                    PROPERTY_KEY_SUFFIX;
-            tokens.keys = StringUtils.toStringArray(keys);
+        String name = (actualName != null ? actualName : propertyName);
+        if (keys.isEmpty()) {
+            return new ParsedPropertyName(name, name, null);
         }
-        return tokens;
+        String canonicalName = name + PROPERTY_KEY_PREFIX +
+                StringUtils.collectionToDelimitedString(keys, PROPERTY_KEY_SUFFIX + PROPERTY_KEY_PREFIX) +
+                PROPERTY_KEY_SUFFIX;
+        return new ParsedPropertyName(name, canonicalName, StringUtils.toStringArray(keys));
     }
 
     @Override
@@ -1041,4 +1065,31 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
         public String[] keys;
     }
 
+
+    /**
+     * Immutable result of parsing a property path, safe to share across accessors.
+     */
+    private static final class ParsedPropertyName {
+
+        private final String actualName;
+
+        private final String canonicalName;
+
+        @Nullable
+        private final String[] keys;
+
+        ParsedPropertyName(String actualName, String canonicalName, @Nullable String[] keys) {
+            this.actualName = actualName;
+            this.canonicalName = canonicalName;
+            this.keys = keys;
+        }
+
+        PropertyTokenHolder toTokenHolder() {
+            PropertyTokenHolder tokens = new PropertyTokenHolder(this.actualName);
+            tokens.canonicalName = this.canonicalName;
+            tokens.keys = (this.keys != null ? this.keys.clone() : null);
+            return tokens;
+        }
+    }
+
 }
@@ -21,7 +21,6 @@ import java.beans.PropertyEditor;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.net.URI;
 import java.net.URL;
 import java.util.Arrays;
@@ -662,26 +661,22 @@ public abstract class BeanUtils {
             }
             actualEditable = editable;
         }
-        PropertyDescriptor[] targetPds = getPropertyDescriptors(actualEditable);
+        CachedIntrospectionResults targetResults = CachedIntrospectionResults.forClass(actualEditable);
+        CachedIntrospectionResults sourceResults = CachedIntrospectionResults.forClass(source.getClass());
+        PropertyDescriptor[] targetPds = targetResults.getPropertyDescriptors();
         List<String> ignoreList = (ignoreProperties != null ? Arrays.asList(ignoreProperties) : null);
 
         for (PropertyDescriptor targetPd : targetPds) {
             Method writeMethod = targetPd.getWriteMethod();
             if (writeMethod != null && (ignoreList == null || !ignoreList.contains(targetPd.getName()))) {
-                PropertyDescriptor sourcePd = getPropertyDescriptor(source.getClass(), targetPd.getName());
+                PropertyDescriptor sourcePd = sourceResults.getPropertyDescriptor(targetPd.getName());
                 if (sourcePd != null) {
                     Method readMethod = sourcePd.getReadMethod();
                     if (readMethod != null &&
                             ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType())) {
                         try {
-                            if (!Modifier.isPublic(readMethod.getDeclaringClass().getModifiers())) {
-                                readMethod.setAccessible(true);
-                            }
-                            Object value = readMethod.invoke(source);
-                            if (!Modifier.isPublic(writeMethod.getDeclaringClass().getModifiers())) {
-                                writeMethod.setAccessible(true);
-                            }
-                            writeMethod.invoke(target, value);
+                            Object value = sourceResults.readProperty(sourcePd, source);
+                            targetResults.writeProperty(targetPd, target, value);
                         }
                         catch (Throwable ex) {
                             throw new FatalBeanException(
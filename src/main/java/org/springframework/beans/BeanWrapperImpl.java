@@ -304,8 +304,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
                 }
             }
             else {
-                ReflectionUtils.makeAccessible(readMethod);
-                return readMethod.invoke(getWrappedInstance(), (Object[]) null);
+                return getCachedIntrospectionResults().readProperty(this.pd, getWrappedInstance());
             }
         }
 
@@ -328,8 +327,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
                 }
             }
             else {
-                ReflectionUtils.makeAccessible(writeMethod);
-                writeMethod.invoke(getWrappedInstance(), value);
+                getCachedIntrospectionResults().writeProperty(this.pd, getWrappedInstance(), value);
             }
         }
     }
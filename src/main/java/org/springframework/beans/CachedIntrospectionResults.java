@@ -20,6 +20,8 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -37,16 +39,30 @@ import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 public class CachedIntrospectionResults {
 
     public static final String IGNORE_BEANINFO_PROPERTY_NAME = "spring.beaninfo.ignore";
 
+    /**
+     * System property that instructs Spring to invoke bean property read and
+     * write methods through method handles rather than reflection: "true" to
+     * prepare the handles for a bean class on first property access.
+     * <p>The default is "false", always using reflection.
+     * @since 1.0
+     * @see PropertyMethodHandles
+     */
+    public static final String METHOD_HANDLE_ACCESS_PROPERTY_NAME = "spring.beaninfo.methodHandleAccess";
+
 
     private static final boolean shouldIntrospectorIgnoreBeaninfoClasses =
             SpringProperties.getFlag(IGNORE_BEANINFO_PROPERTY_NAME);
 
+    private static final boolean shouldUseMethodHandles =
+            SpringProperties.getFlag(METHOD_HANDLE_ACCESS_PROPERTY_NAME);
+
     /** Stores the BeanInfoFactory instances */
     private static List<BeanInfoFactory> beanInfoFactories = SpringFactoriesLoader.loadFactories(
             BeanInfoFactory.class, CachedIntrospectionResults.class.getClassLoader());
@@ -210,6 +226,12 @@ public class CachedIntrospectionResults {
     /** TypeDescriptor objects keyed by PropertyDescriptor */
     private final ConcurrentMap<PropertyDescriptor, TypeDescriptor> typeDescriptorCache;
 
+    /** Lazily prepared method handle access, if enabled */
+    @Nullable
+    private volatile PropertyMethodHandles methodHandles;
+
+    private volatile boolean methodHandlesResolved = !shouldUseMethodHandles;
+
 
     /**
      * Create a new CachedIntrospectionResults instance for the given class.
@@ -314,6 +336,64 @@ public class CachedIntrospectionResults {
         }
     }
 
+    /**
+     * Invoke the read method of the given property on the given bean instance,
+     * through a method handle if available.
+     * @param pd a property descriptor obtained from this introspection result
+     * @param target the bean instance
+     * @return the property value
+     * @throws IllegalAccessException if the read method is inaccessible
+     * @throws InvocationTargetException if the read method threw an exception
+     */
+    @Nullable
+    Object readProperty(PropertyDescriptor pd, Object target)
+            throws IllegalAccessException, InvocationTargetException {
+
+        PropertyMethodHandles methodHandles = getMethodHandles();
+        if (methodHandles != null && methodHandles.canRead(pd)) {
+            return methodHandles.read(pd, target);
+        }
+        Method readMethod = pd.getReadMethod();
+        ReflectionUtils.makeAccessible(readMethod);
+        return readMethod.invoke(target, (Object[]) null);
+    }
+
+    /**
+     * Invoke the write method of the given property on the given bean instance,
+     * through a method handle if available.
+     * @param pd a property descriptor obtained from this introspection result
+     * @param target the bean instance
+     * @param value the new value
+     * @throws IllegalAccessException if the write method is inaccessible
+     * @throws InvocationTargetException if the write method threw an exception
+     */
+    void writeProperty(PropertyDescriptor pd, Object target, @Nullable Object value)
+            throws IllegalAccessException, InvocationTargetException {
+
+        PropertyMethodHandles methodHandles = getMethodHandles();
+        if (methodHandles != null && methodHandles.canWrite(pd, value)) {
+            methodHandles.write(pd, target, value);
+            return;
+        }
+        Method writeMethod = (pd instanceof GenericTypeAwarePropertyDescriptor ?
+                ((GenericTypeAwarePropertyDescriptor) pd).getWriteMethodForActualAccess() : pd.getWriteMethod());
+        ReflectionUtils.makeAccessible(writeMethod);
+        writeMethod.invoke(target, value);
+    }
+
+    @Nullable
+    private PropertyMethodHandles getMethodHandles() {
+        if (!this.methodHandlesResolved) {
+            synchronized (this.propertyDescriptorCache) {
+                if (!this.methodHandlesResolved) {
+                    this.methodHandles = PropertyMethodHandles.create(this.propertyDescriptorCache.values());
+                    this.methodHandlesResolved = true;
+                }
+            }
+        }
+        return this.methodHandles;
+    }
+
     TypeDescriptor addTypeDescriptor(PropertyDescriptor pd, TypeDescriptor td) {
         TypeDescriptor existing = this.typeDescriptorCache.putIfAbsent(pd, td);
         return (existing != null ? existing : td);
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.propertyeditors.CustomBooleanEditor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Stateless, thread-safe counterpart of a default {@link java.beans.PropertyEditor},
+ * converting values exactly like the editor registered for the same type by
+ * {@link PropertyEditorRegistrySupport#getDefaultEditor} would.
+ *
+ * <p>All converters live in one shared immutable registry, so that default
+ * conversions of common types neither allocate nor share editor instances.
+ * Only String values (via the editor's {@code setAsText} logic, with String arrays
+ * joined into a comma-delimited String for non-array types) and, for number types,
+ * Number values (via the editor's {@code setValue} logic) are converted; for any
+ * other value, the corresponding default editor leaves the value as-is.
+ *
+ * @since 1.0
+ * @see TypeConverterDelegate
+ */
+final class DefaultValueConverter {
+
+    /** The shared immutable registry: property type --> converter */
+    private static final Map<Class<?>, DefaultValueConverter> sharedConverters;
+
+    static {
+        Map<Class<?>, DefaultValueConverter> converters = new HashMap<>(64);
+
+        // Counterparts of the simple editors without parameterization.
+        register(converters, Charset.class, text -> (StringUtils.hasText(text) ? Charset.forName(text) : null));
+        register(converters, Class.class, text -> (StringUtils.hasText(text) ?
+                ClassUtils.resolveClassName(text.trim(), ClassUtils.getDefaultClassLoader()) : null));
+        register(converters, Currency.class, Currency::getInstance);
+        register(converters, Locale.class, StringUtils::parseLocaleString);
+        register(converters, Pattern.class, Pattern::compile);
+        register(converters, TimeZone.class, StringUtils::parseTimeZoneString);
+        register(converters, UUID.class, text -> (StringUtils.hasText(text) ? UUID.fromString(text) : null));
+        register(converters, ZoneId.class, ZoneId::of);
+
+        // Counterparts of the primitive array editors.
+        register(converters, byte[].class, String::getBytes);
+        register(converters, char[].class, String::toCharArray);
+
+        // Counterparts of CharacterEditor and CustomBooleanEditor.
+        register(converters, char.class, text -> parseCharacter(text, false));
+        register(converters, Character.class, text -> parseCharacter(text, true));
+        register(converters, boolean.class, text -> parseBoolean(text, false));
+        register(converters, Boolean.class, text -> parseBoolean(text, true));
+
+        // Counterparts of CustomNumberEditor, with empty values allowed for wrapper types only.
+        registerNumber(converters, byte.class, Byte.class, false);
+        registerNumber(converters, Byte.class, Byte.class, true);
+        registerNumber(converters, short.class, Short.class, false);
+        registerNumber(converters, Short.class, Short.class, true);
+        registerNumber(converters, int.class, Integer.class, false);
+        registerNumber(converters, Integer.class, Integer.class, true);
+        registerNumber(converters, long.class, Long.class, false);
+        registerNumber(converters, Long.class, Long.class, true);
+        registerNumber(converters, float.class, Float.class, false);
+        registerNumber(converters, Float.class, Float.class, true);
+        registerNumber(converters, double.class, Double.class, false);
+        registerNumber(converters, Double.class, Double.class, true);
+        registerNumber(converters, BigDecimal.class, BigDecimal.class, true);
+        registerNumber(converters, BigInteger.class, BigInteger.class, true);
+
+        sharedConverters = Collections.unmodifiableMap(converters);
+    }
+
+
+    private final Class<?> targetType;
+
+    private final Function<String, Object> textConverter;
+
+    @Nullable
+    private final Class<? extends Number> numberClass;
+
+
+    private DefaultValueConverter(Class<?> targetType, Function<String, Object> textConverter,
+            @Nullable Class<? extends Number> numberClass) {
+
+        this.targetType = targetType;
+        this.textConverter = textConverter;
+        this.numberClass = numberClass;
+    }
+
+
+    /**
+     * Convert the given value to the target type of this converter.
+     * @param value the value to convert
+     * @return the converted value, or the given value if not applicable
+     * @throws IllegalArgumentException if the conversion of a String value failed
+     */
+    @Nullable
+    Object convert(@Nullable Object value) {
+        if (value instanceof String[] && !this.targetType.isArray()) {
+            // Same as for editors: a String array gets converted as comma-delimited String.
+            return this.textConverter.apply(StringUtils.arrayToCommaDelimitedString((String[]) value));
+        }
+        if (value instanceof String) {
+            return this.textConverter.apply((String) value);
+        }
+        if (this.numberClass != null && value instanceof Number) {
+            return NumberUtils.convertNumberToTargetClass((Number) value, this.numberClass);
+        }
+        return value;
+    }
+
+
+    /**
+     * Return the shared converter for the given property type.
+     * @param requiredType the type of the property
+     * @return the converter, or {@code null} if the default editor for the
+     * given type (if any) has no stateless counterpart
+     */
+    @Nullable
+    static DefaultValueConverter forType(Class<?> requiredType) {
+        return sharedConverters.get(requiredType);
+    }
+
+    private static void register(Map<Class<?>, DefaultValueConverter> converters,
+            Class<?> type, Function<String, Object> textConverter) {
+
+        converters.put(type, new DefaultValueConverter(type, textConverter, null));
+    }
+
+    private static <T extends Number> void registerNumber(Map<Class<?>, DefaultValueConverter> converters,
+            Class<?> type, Class<T> numberClass, boolean allowEmpty) {
+
+        converters.put(type, new DefaultValueConverter(type, text -> (allowEmpty && !StringUtils.hasText(text) ?
+                null : NumberUtils.parseNumber(text, numberClass)), numberClass));
+    }
+
+    @Nullable
+    private static Character parseCharacter(String text, boolean allowEmpty) {
+        if (allowEmpty && text.isEmpty()) {
+            return null;
+        }
+        if (text.startsWith("\\u") && text.length() == 6) {
+            return (char) Integer.parseInt(text.substring(2), 16);
+        }
+        if (text.length() == 1) {
+            return text.charAt(0);
+        }
+        throw new IllegalArgumentException("String [" + text + "] with length " +
+                text.length() + " cannot be converted to char type: neither Unicode nor single character");
+    }
+
+    @Nullable
+    private static Boolean parseBoolean(String text, boolean allowEmpty) {
+        String input = text.trim();
+        if (allowEmpty && input.isEmpty()) {
+            return null;
+        }
+        if (CustomBooleanEditor.VALUE_TRUE.equalsIgnoreCase(input) ||
+                CustomBooleanEditor.VALUE_ON.equalsIgnoreCase(input) ||
+                CustomBooleanEditor.VALUE_YES.equalsIgnoreCase(input) || CustomBooleanEditor.VALUE_1.equals(input)) {
+            return Boolean.TRUE;
+        }
+        if (CustomBooleanEditor.VALUE_FALSE.equalsIgnoreCase(input) ||
+                CustomBooleanEditor.VALUE_OFF.equalsIgnoreCase(input) ||
+                CustomBooleanEditor.VALUE_NO.equalsIgnoreCase(input) || CustomBooleanEditor.VALUE_0.equals(input)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Invalid boolean value [" + text + "]");
+    }
+
+}
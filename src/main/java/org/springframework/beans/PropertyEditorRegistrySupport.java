@@ -194,6 +194,25 @@ public class PropertyEditorRegistrySupport implements PropertyEditorRegistry {
         return this.defaultEditors.get(requiredType);
     }
 
+    /**
+     * Retrieve the shared stateless converter for the given property type, if any,
+     * to be used instead of the default editor for the same type.
+     * @param requiredType type of the property
+     * @return the converter, or {@code null} if the default editor is to be used:
+     * that is, for overridden default editors and for default editors without
+     * stateless counterpart
+     * @since 1.0
+     * @see #getDefaultEditor
+     */
+    @Nullable
+    DefaultValueConverter getDefaultValueConverter(Class<?> requiredType) {
+        if (!this.defaultEditorsActive ||
+                (this.overriddenDefaultEditors != null && this.overriddenDefaultEditors.containsKey(requiredType))) {
+            return null;
+        }
+        return DefaultValueConverter.forType(requiredType);
+    }
+
     /**
      * Actually register the default editors for this registry instance.
      */
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Method handle based property access for a specific bean class, invoking the
+ * JavaBeans read and write methods without reflection in steady state.
+ * Created lazily by {@link CachedIntrospectionResults} if enabled.
+ *
+ * <p>Each read method is adapted to {@code (Object) -> Object} and each write
+ * method to {@code (Object, Object) -> void} once, so that an invocation only
+ * needs a map lookup and an exact handle invocation. Callers fall back to
+ * reflection for properties without a handle, as well as for values that would
+ * need conversion or fail with an {@link IllegalArgumentException}.
+ *
+ * @since 1.0
+ * @see CachedIntrospectionResults#METHOD_HANDLE_ACCESS_PROPERTY_NAME
+ */
+final class PropertyMethodHandles {
+
+    private static final MethodType READ_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType WRITE_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Log logger = LogFactory.getLog(PropertyMethodHandles.class);
+
+
+    /** Read handles keyed by the property descriptors of the introspection results */
+    private final Map<PropertyDescriptor, MethodHandle> readHandles;
+
+    /** Write handles keyed by the property descriptors of the introspection results */
+    private final Map<PropertyDescriptor, WriteHandle> writeHandles;
+
+
+    private PropertyMethodHandles(Map<PropertyDescriptor, MethodHandle> readHandles,
+            Map<PropertyDescriptor, WriteHandle> writeHandles) {
+
+        this.readHandles = readHandles;
+        this.writeHandles = writeHandles;
+    }
+
+
+    /**
+     * Determine whether the given property can be read through a method handle.
+     */
+    boolean canRead(PropertyDescriptor pd) {
+        return this.readHandles.containsKey(pd);
+    }
+
+    /**
+     * Determine whether the given value can be written to the given property
+     * through a method handle.
+     */
+    boolean canWrite(PropertyDescriptor pd, @Nullable Object value) {
+        WriteHandle writeHandle = this.writeHandles.get(pd);
+        return (writeHandle != null && ClassUtils.isAssignableValue(writeHandle.valueType, value));
+    }
+
+    /**
+     * Read the given property through its method handle.
+     * Only to be called if {@link #canRead} returned {@code true}.
+     * @throws InvocationTargetException if the read method threw an exception
+     */
+    @Nullable
+    Object read(PropertyDescriptor pd, Object target) throws InvocationTargetException {
+        try {
+            return (Object) this.readHandles.get(pd).invokeExact(target);
+        }
+        catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Write the given property through its method handle.
+     * Only to be called if {@link #canWrite} returned {@code true}.
+     * @throws InvocationTargetException if the write method threw an exception
+     */
+    void write(PropertyDescriptor pd, Object target, @Nullable Object value) throws InvocationTargetException {
+        try {
+            this.writeHandles.get(pd).handle.invokeExact(target, value);
+        }
+        catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+
+    /**
+     * Prepare method handles for the given properties of a bean class.
+     * @param pds the properties, as cached in the bean class's introspection results
+     * @return the method handle access, or {@code null} if no property qualifies
+     */
+    @Nullable
+    static PropertyMethodHandles create(Collection<PropertyDescriptor> pds) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Map<PropertyDescriptor, MethodHandle> readHandles = new IdentityHashMap<>(pds.size());
+        Map<PropertyDescriptor, WriteHandle> writeHandles = new IdentityHashMap<>(pds.size());
+        for (PropertyDescriptor pd : pds) {
+            Method readMethod = pd.getReadMethod();
+            if (readMethod != null && readMethod.getParameterCount() == 0 &&
+                    !Modifier.isStatic(readMethod.getModifiers())) {
+                MethodHandle handle = unreflect(lookup, readMethod);
+                if (handle != null) {
+                    readHandles.put(pd, handle.asType(READ_TYPE));
+                }
+            }
+            Method writeMethod = (pd instanceof GenericTypeAwarePropertyDescriptor ?
+                    ((GenericTypeAwarePropertyDescriptor) pd).getWriteMethodForActualAccess() : pd.getWriteMethod());
+            if (writeMethod != null && writeMethod.getParameterCount() == 1 &&
+                    !Modifier.isStatic(writeMethod.getModifiers())) {
+                MethodHandle handle = unreflect(lookup, writeMethod);
+                if (handle != null) {
+                    writeHandles.put(pd, new WriteHandle(handle.asType(WRITE_TYPE), writeMethod.getParameterTypes()[0]));
+                }
+            }
+        }
+        return (!readHandles.isEmpty() || !writeHandles.isEmpty() ?
+                new PropertyMethodHandles(readHandles, writeHandles) : null);
+    }
+
+    @Nullable
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method) {
+        try {
+            ReflectionUtils.makeAccessible(method);
+            return lookup.unreflect(method).asFixedArity();
+        }
+        catch (Throwable ex) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to create method handle for " + method + " - using reflection instead", ex);
+            }
+            return null;
+        }
+    }
+
+
+    /**
+     * A write handle along with the value type that it accepts without conversion.
+     */
+    private static final class WriteHandle {
+
+        final MethodHandle handle;
+
+        final Class<?> valueType;
+
+        WriteHandle(MethodHandle handle, Class<?> valueType) {
+            this.handle = handle;
+            this.valueType = valueType;
+        }
+    }
+
+}
@@ -31,9 +31,11 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.CollectionFactory;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionException;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.NumberUtils;
@@ -160,6 +162,7 @@ class TypeConverterDelegate {
         }
 
         Object convertedValue = newValue;
+        DefaultValueConverter defaultConverter = null;
 
         // Value not of required type?
         if (editor != null || (requiredType != null && !ClassUtils.isAssignableValue(requiredType, convertedValue))) {
@@ -173,10 +176,18 @@ class TypeConverterDelegate {
                     }
                 }
             }
-            if (editor == null) {
-                editor = findDefaultEditor(requiredType);
+            defaultConverter = (editor == null && requiredType != null ?
+                    this.propertyEditorRegistry.getDefaultValueConverter(requiredType) : null);
+            if (defaultConverter != null) {
+                // Shared stateless counterpart of the default editor -> no editor instance needed.
+                convertedValue = defaultConverter.convert(convertedValue);
+            }
+            else {
+                if (editor == null) {
+                    editor = findDefaultEditor(requiredType);
+                }
+                convertedValue = doConvertValue(oldValue, convertedValue, requiredType, editor);
             }
-            convertedValue = doConvertValue(oldValue, convertedValue, requiredType, editor);
         }
 
         boolean standardConversion = false;
@@ -281,6 +292,11 @@ class TypeConverterDelegate {
                             ClassUtils.getDescriptiveType(convertedValue)).append("'");
                     throw new IllegalArgumentException(msg.toString());
                 }
+                else if (defaultConverter != null) {
+                    msg.append(": default conversion returned inappropriate value of type '").append(
+                            ClassUtils.getDescriptiveType(convertedValue)).append("'");
+                    throw new IllegalArgumentException(msg.toString());
+                }
                 else {
                     msg.append(": no matching editors or conversion strategy found");
                     throw new IllegalStateException(msg.toString());
@@ -289,7 +305,8 @@ class TypeConverterDelegate {
         }
 
         if (conversionAttemptEx != null) {
-            if (editor == null && !standardConversion && requiredType != null && Object.class != requiredType) {
+            if (editor == null && defaultConverter == null && !standardConversion &&
+                    requiredType != null && Object.class != requiredType) {
                 throw conversionAttemptEx;
             }
             logger.debug("Original ConversionService attempt failed - ignored since " +
@@ -473,6 +490,10 @@ class TypeConverterDelegate {
                     !this.propertyEditorRegistry.hasCustomEditorForElement(componentType, propertyName)) {
                 return input;
             }
+            Object converted = convertArrayElements(input, propertyName, componentType);
+            if (converted != null) {
+                return converted;
+            }
             int arrayLength = Array.getLength(input);
             Object result = Array.newInstance(componentType, arrayLength);
             for (int i = 0; i < arrayLength; i++) {
@@ -492,6 +513,33 @@ class TypeConverterDelegate {
         }
     }
 
+    /**
+     * Convert all array elements in a single pass through a {@link GenericConversionService},
+     * resolving the element converter once rather than per element.
+     * @return the converted array, or {@code null} if the elements need to be
+     * converted one by one (e.g. for a custom element editor)
+     */
+    @Nullable
+    private Object convertArrayElements(Object input, @Nullable String propertyName, Class<?> componentType) {
+        ConversionService conversionService = this.propertyEditorRegistry.getConversionService();
+        if (!(conversionService instanceof GenericConversionService) ||
+                this.propertyEditorRegistry.hasCustomEditorForElement(componentType, propertyName)) {
+            return null;
+        }
+        TypeDescriptor targetElementType = TypeDescriptor.valueOf(componentType);
+        if (!conversionService.canConvert(
+                TypeDescriptor.valueOf(input.getClass().getComponentType()), targetElementType)) {
+            return null;
+        }
+        try {
+            return ((GenericConversionService) conversionService).convertArray(input, targetElementType);
+        }
+        catch (ConversionException ex) {
+            // fallback to element-wise conversion logic
+            return null;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private Collection<?> convertToTypedCollection(Collection<?> original, @Nullable String propertyName,
                                                    Class<?> requiredType, @Nullable TypeDescriptor typeDescriptor) {
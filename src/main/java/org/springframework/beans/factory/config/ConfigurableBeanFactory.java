@@ -27,6 +27,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.HierarchicalBeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringValueResolver;
 
@@ -142,6 +143,26 @@ public interface ConfigurableBeanFactory extends HierarchicalBeanFactory, Single
     @Nullable
     ConversionService getConversionService();
 
+    /**
+     * Set the {@code ApplicationStartup} for this bean factory.
+     * <p>This allows the application context to record metrics during application startup,
+     * e.g. the time spent creating and initializing each bean.
+     * <p>The default implementation does nothing.
+     * @param applicationStartup the new application startup
+     * @since 1.0
+     */
+    default void setApplicationStartup(ApplicationStartup applicationStartup) {
+    }
+
+    /**
+     * Return the {@code ApplicationStartup} for this bean factory.
+     * <p>The default implementation returns {@link ApplicationStartup#DEFAULT}.
+     * @since 1.0
+     */
+    default ApplicationStartup getApplicationStartup() {
+        return ApplicationStartup.DEFAULT;
+    }
+
     /**
      * Add a PropertyEditorRegistrar to be applied to all bean creation processes.
      * <p>Such a registrar creates new PropertyEditor instances and registers them
@@ -75,6 +75,7 @@ import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.PriorityOrdered;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -368,7 +369,15 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
         Object result = existingBean;
         for (BeanPostProcessor processor : getBeanPostProcessors()) {
-            Object current = processor.postProcessBeforeInitialization(result, beanName);
+            StartupStep step = getApplicationStartup().start("spring.beans.post-process.before-initialization")
+                    .tag("postProcessor", processor.getClass().getName());
+            Object current;
+            try {
+                current = processor.postProcessBeforeInitialization(result, beanName);
+            }
+            finally {
+                step.end();
+            }
             if (current == null) {
                 return result;
             }
@@ -383,7 +392,15 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
         Object result = existingBean;
         for (BeanPostProcessor processor : getBeanPostProcessors()) {
-            Object current = processor.postProcessAfterInitialization(result, beanName);
+            StartupStep step = getApplicationStartup().start("spring.beans.post-process.after-initialization")
+                    .tag("postProcessor", processor.getClass().getName());
+            Object current;
+            try {
+                current = processor.postProcessAfterInitialization(result, beanName);
+            }
+            finally {
+                step.end();
+            }
             if (current == null) {
                 return result;
             }
@@ -414,53 +431,59 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         if (logger.isDebugEnabled()) {
             logger.debug("Creating instance of bean '" + beanName + "'");
         }
-        RootBeanDefinition mbdToUse = mbd;
+        StartupStep creationStep = getApplicationStartup().start("spring.beans.create").tag("beanName", beanName);
+        try {
+            RootBeanDefinition mbdToUse = mbd;
 
-        // Make sure bean class is actually resolved at this point, and
-        // clone the bean definition in case of a dynamically resolved Class
-        // which cannot be stored in the shared merged bean definition.
-        Class<?> resolvedClass = resolveBeanClass(mbd, beanName);
-        if (resolvedClass != null && !mbd.hasBeanClass() && mbd.getBeanClassName() != null) {
-            mbdToUse = new RootBeanDefinition(mbd);
-            mbdToUse.setBeanClass(resolvedClass);
-        }
+            // Make sure bean class is actually resolved at this point, and
+            // clone the bean definition in case of a dynamically resolved Class
+            // which cannot be stored in the shared merged bean definition.
+            Class<?> resolvedClass = resolveBeanClass(mbd, beanName);
+            if (resolvedClass != null && !mbd.hasBeanClass() && mbd.getBeanClassName() != null) {
+                mbdToUse = new RootBeanDefinition(mbd);
+                mbdToUse.setBeanClass(resolvedClass);
+            }
 
-        // Prepare method overrides.
-        try {
-            mbdToUse.prepareMethodOverrides();
-        }
-        catch (BeanDefinitionValidationException ex) {
-            throw new BeanDefinitionStoreException(mbdToUse.getResourceDescription(),
-                    beanName, "Validation of method overrides failed", ex);
-        }
+            // Prepare method overrides.
+            try {
+                mbdToUse.prepareMethodOverrides();
+            }
+            catch (BeanDefinitionValidationException ex) {
+                throw new BeanDefinitionStoreException(mbdToUse.getResourceDescription(),
+                        beanName, "Validation of method overrides failed", ex);
+            }
 
-        try {
-            // Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
-            Object bean = resolveBeforeInstantiation(beanName, mbdToUse);
-            if (bean != null) {
-                return bean;
+            try {
+                // Give BeanPostProcessors a chance to return a proxy instead of the target bean instance.
+                Object bean = resolveBeforeInstantiation(beanName, mbdToUse);
+                if (bean != null) {
+                    return bean;
+                }
+            }
+            catch (Throwable ex) {
+                throw new BeanCreationException(mbdToUse.getResourceDescription(), beanName,
+                        "BeanPostProcessor before instantiation of bean failed", ex);
             }
-        }
-        catch (Throwable ex) {
-            throw new BeanCreationException(mbdToUse.getResourceDescription(), beanName,
-                    "BeanPostProcessor before instantiation of bean failed", ex);
-        }
 
-        try {
-            Object beanInstance = doCreateBean(beanName, mbdToUse, args);
-            if (logger.isDebugEnabled()) {
-                logger.debug("Finished creating instance of bean '" + beanName + "'");
+            try {
+                Object beanInstance = doCreateBean(beanName, mbdToUse, args);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Finished creating instance of bean '" + beanName + "'");
+                }
+                return beanInstance;
+            }
+            catch (BeanCreationException | ImplicitlyAppearedSingletonException ex) {
+                // A previously detected exception with proper bean creation context already,
+                // or illegal singleton state to be communicated up to DefaultSingletonBeanRegistry.
+                throw ex;
+            }
+            catch (Throwable ex) {
+                throw new BeanCreationException(
+                        mbdToUse.getResourceDescription(), beanName, "Unexpected exception during bean creation", ex);
             }
-            return beanInstance;
-        }
-        catch (BeanCreationException | ImplicitlyAppearedSingletonException ex) {
-            // A previously detected exception with proper bean creation context already,
-            // or illegal singleton state to be communicated up to DefaultSingletonBeanRegistry.
-            throw ex;
         }
-        catch (Throwable ex) {
-            throw new BeanCreationException(
-                    mbdToUse.getResourceDescription(), beanName, "Unexpected exception during bean creation", ex);
+        finally {
+            creationStep.end();
         }
     }
 
@@ -487,7 +510,13 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
             instanceWrapper = this.factoryBeanInstanceCache.remove(beanName);
         }
         if (instanceWrapper == null) {
-            instanceWrapper = createBeanInstance(beanName, mbd, args);
+            StartupStep instantiationStep = getApplicationStartup().start("spring.beans.instantiate");
+            try {
+                instanceWrapper = createBeanInstance(beanName, mbd, args);
+            }
+            finally {
+                instantiationStep.end();
+            }
         }
         final Object bean = instanceWrapper.getWrappedInstance();
         Class<?> beanType = instanceWrapper.getWrappedClass();
@@ -524,8 +553,20 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         // Initialize the bean instance.
         Object exposedObject = bean;
         try {
-            populateBean(beanName, mbd, instanceWrapper);
-            exposedObject = initializeBean(beanName, exposedObject, mbd);
+            StartupStep populationStep = getApplicationStartup().start("spring.beans.populate");
+            try {
+                populateBean(beanName, mbd, instanceWrapper);
+            }
+            finally {
+                populationStep.end();
+            }
+            StartupStep initializationStep = getApplicationStartup().start("spring.beans.initialize");
+            try {
+                exposedObject = initializeBean(beanName, exposedObject, mbd);
+            }
+            finally {
+                initializationStep.end();
+            }
         }
         catch (Throwable ex) {
             if (ex instanceof BeanCreationException && beanName.equals(((BeanCreationException) ex).getBeanName())) {
@@ -874,7 +915,11 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
      */
     @Nullable
     private FactoryBean<?> getSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
-        synchronized (getSingletonMutex()) {
+        if (!acquireSingletonLock(beanName)) {
+            // Locked by a thread that waits for the current thread.
+            return null;
+        }
+        try {
             BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
             if (bw != null) {
                 return (FactoryBean<?>) bw.getWrappedInstance();
@@ -910,6 +955,9 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
             }
             return fb;
         }
+        finally {
+            releaseSingletonLock(beanName);
+        }
     }
 
     /**
@@ -1236,17 +1284,29 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         // state of the bean before properties are set. This can be used, for example,
         // to support styles of field injection.
         boolean continueWithPropertyPopulation = true;
+        // Non-singletons replay a cached creation plan; singletons get created once anyway.
+        BeanCreationPlan plan = (!mbd.isSingleton() ? obtainCreationPlan(mbd, bw.getWrappedClass()) : null);
 
         if (!mbd.isSynthetic() && hasInstantiationAwareBeanPostProcessors()) {
-            for (BeanPostProcessor bp : getBeanPostProcessors()) {
-                if (bp instanceof InstantiationAwareBeanPostProcessor) {
-                    InstantiationAwareBeanPostProcessor ibp = (InstantiationAwareBeanPostProcessor) bp;
+            if (plan != null) {
+                for (InstantiationAwareBeanPostProcessor ibp : plan.getInstantiationAwareBeanPostProcessors()) {
                     if (!ibp.postProcessAfterInstantiation(bw.getWrappedInstance(), beanName)) {
                         continueWithPropertyPopulation = false;
                         break;
                     }
                 }
             }
+            else {
+                for (BeanPostProcessor bp : getBeanPostProcessors()) {
+                    if (bp instanceof InstantiationAwareBeanPostProcessor) {
+                        InstantiationAwareBeanPostProcessor ibp = (InstantiationAwareBeanPostProcessor) bp;
+                        if (!ibp.postProcessAfterInstantiation(bw.getWrappedInstance(), beanName)) {
+                            continueWithPropertyPopulation = false;
+                            break;
+                        }
+                    }
+                }
+            }
         }
 
         if (!continueWithPropertyPopulation) {
@@ -1277,15 +1337,25 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
             }
             PropertyDescriptor[] filteredPds = filterPropertyDescriptorsForDependencyCheck(bw, mbd.allowCaching);
             if (hasInstAwareBpps) {
-                for (BeanPostProcessor bp : getBeanPostProcessors()) {
-                    if (bp instanceof InstantiationAwareBeanPostProcessor) {
-                        InstantiationAwareBeanPostProcessor ibp = (InstantiationAwareBeanPostProcessor) bp;
+                if (plan != null) {
+                    for (InstantiationAwareBeanPostProcessor ibp : plan.getInstantiationAwareBeanPostProcessors()) {
                         pvs = ibp.postProcessPropertyValues(pvs, filteredPds, bw.getWrappedInstance(), beanName);
                         if (pvs == null) {
                             return;
                         }
                     }
                 }
+                else {
+                    for (BeanPostProcessor bp : getBeanPostProcessors()) {
+                        if (bp instanceof InstantiationAwareBeanPostProcessor) {
+                            InstantiationAwareBeanPostProcessor ibp = (InstantiationAwareBeanPostProcessor) bp;
+                            pvs = ibp.postProcessPropertyValues(pvs, filteredPds, bw.getWrappedInstance(), beanName);
+                            if (pvs == null) {
+                                return;
+                            }
+                        }
+                    }
+                }
             }
             if (needsDepCheck) {
                 checkDependencies(beanName, mbd, filteredPds, pvs);
@@ -1297,6 +1367,33 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         }
     }
 
+    /**
+     * Obtain the creation plan for the given non-singleton bean definition and
+     * actual bean class, replaying the cached plan where still applicable.
+     * @param mbd the merged bean definition for the bean
+     * @param beanClass the class of the bean instance
+     * @return the creation plan (never {@code null})
+     */
+    private BeanCreationPlan obtainCreationPlan(RootBeanDefinition mbd, Class<?> beanClass) {
+        int beanPostProcessorsVersion = getBeanPostProcessorsVersion();
+        BeanCreationPlan plan = mbd.creationPlan;
+        if (plan != null && plan.isApplicable(beanPostProcessorsVersion, beanClass)) {
+            return plan;
+        }
+        List<InstantiationAwareBeanPostProcessor> ibps = new ArrayList<>();
+        for (BeanPostProcessor bp : getBeanPostProcessors()) {
+            if (bp instanceof InstantiationAwareBeanPostProcessor) {
+                ibps.add((InstantiationAwareBeanPostProcessor) bp);
+            }
+        }
+        String initMethodName = mbd.getInitMethodName();
+        Method initMethod = (StringUtils.hasLength(initMethodName) && beanClass != NullBean.class ?
+                findInitMethod(beanClass, initMethodName, mbd) : null);
+        plan = new BeanCreationPlan(beanPostProcessorsVersion, beanClass, ibps, initMethod);
+        mbd.creationPlan = plan;
+        return plan;
+    }
+
     /**
      * Fill in any missing property values with references to
      * other beans in this factory if autowire is set to "byName".
@@ -1705,9 +1802,16 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
         String initMethodName = mbd.getInitMethodName();
         Assert.state(initMethodName != null, "No init method set");
-        final Method initMethod = (mbd.isNonPublicAccessAllowed() ?
-                BeanUtils.findMethod(bean.getClass(), initMethodName) :
-                ClassUtils.getMethodIfAvailable(bean.getClass(), initMethodName));
+        BeanCreationPlan plan = (!mbd.isSingleton() ? mbd.creationPlan : null);
+        final Method initMethod;
+        if (plan != null && plan.isApplicable(getBeanPostProcessorsVersion(), bean.getClass())) {
+            initMethod = plan.getInitMethod();
+        }
+        else {
+            initMethod = (mbd.isNonPublicAccessAllowed() ?
+                    BeanUtils.findMethod(bean.getClass(), initMethodName) :
+                    ClassUtils.getMethodIfAvailable(bean.getClass(), initMethodName));
+        }
 
         if (initMethod == null) {
             if (mbd.isEnforceInitMethod()) {
@@ -1753,6 +1857,12 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         }
     }
 
+    @Nullable
+    private Method findInitMethod(Class<?> beanClass, String initMethodName, RootBeanDefinition mbd) {
+        return (mbd.isNonPublicAccessAllowed() ? BeanUtils.findMethod(beanClass, initMethodName) :
+                ClassUtils.getMethodIfAvailable(beanClass, initMethodName));
+    }
+
 
     /**
      * Applies the {@code postProcessAfterInitialization} callback of all
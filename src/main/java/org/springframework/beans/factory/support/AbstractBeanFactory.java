@@ -69,6 +69,7 @@ import org.springframework.core.DecoratingClassLoader;
 import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -101,6 +102,9 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
     @Nullable
     private ConversionService conversionService;
 
+    /** Recorder of bean creation steps, a no-op by default */
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
     /** Custom PropertyEditorRegistrars to apply to the beans of this factory */
     private final Set<PropertyEditorRegistrar> propertyEditorRegistrars = new LinkedHashSet<>(4);
 
@@ -123,6 +127,9 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
     /** Indicates whether any DestructionAwareBeanPostProcessors have been registered */
     private volatile boolean hasDestructionAwareBeanPostProcessors;
 
+    /** Incremented on every BeanPostProcessor registration, invalidating cached creation plans */
+    private volatile int beanPostProcessorsVersion;
+
     /** Map from scope identifier String to corresponding Scope */
     private final Map<String, Scope> scopes = new LinkedHashMap<>(8);
 
@@ -723,6 +730,17 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
         return this.conversionService;
     }
 
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public ApplicationStartup getApplicationStartup() {
+        return this.applicationStartup;
+    }
+
     @Override
     public void addPropertyEditorRegistrar(PropertyEditorRegistrar registrar) {
         Assert.notNull(registrar, "PropertyEditorRegistrar must not be null");
@@ -825,6 +843,7 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
         }
         // Add to end of list
         this.beanPostProcessors.add(beanPostProcessor);
+        this.beanPostProcessorsVersion++;
     }
 
     @Override
@@ -840,6 +859,16 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
         return this.beanPostProcessors;
     }
 
+    /**
+     * Return the current version of the BeanPostProcessor list,
+     * changing with every registration.
+     * @since 1.0
+     * @see #addBeanPostProcessor
+     */
+    int getBeanPostProcessorsVersion() {
+        return this.beanPostProcessorsVersion;
+    }
+
     /**
      * Return whether this factory holds a InstantiationAwareBeanPostProcessor
      * that will get applied to singleton beans on shutdown.
@@ -919,12 +948,14 @@ public abstract class AbstractBeanFactory extends FactoryBeanRegistrySupport imp
         setCacheBeanMetadata(otherFactory.isCacheBeanMetadata());
         setBeanExpressionResolver(otherFactory.getBeanExpressionResolver());
         setConversionService(otherFactory.getConversionService());
+        setApplicationStartup(otherFactory.getApplicationStartup());
         if (otherFactory instanceof AbstractBeanFactory) {
             AbstractBeanFactory otherAbstractFactory = (AbstractBeanFactory) otherFactory;
             this.propertyEditorRegistrars.addAll(otherAbstractFactory.propertyEditorRegistrars);
             this.customEditors.putAll(otherAbstractFactory.customEditors);
             this.typeConverter = otherAbstractFactory.typeConverter;
             this.beanPostProcessors.addAll(otherAbstractFactory.beanPostProcessors);
+            this.beanPostProcessorsVersion++;
             this.hasInstantiationAwareBeanPostProcessors = this.hasInstantiationAwareBeanPostProcessors ||
                     otherAbstractFactory.hasInstantiationAwareBeanPostProcessors;
             this.hasDestructionAwareBeanPostProcessors = this.hasDestructionAwareBeanPostProcessors ||
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.lang.Nullable;
+
+/**
+ * The instance-independent part of creating a bean: the post-processors that
+ * apply to the bean and its resolved init method. Computed on first creation
+ * and cached on the merged bean definition of non-singleton beans, so that
+ * subsequent creations only replay the plan.
+ *
+ * <p>A plan is bound to the bean factory's BeanPostProcessor list at the time
+ * of its computation and to the actual bean class. It is discarded along with
+ * its merged bean definition when the bean definition changes.
+ *
+ * @since 1.0
+ * @see AbstractAutowireCapableBeanFactory#populateBean
+ * @see AbstractAutowireCapableBeanFactory#invokeCustomInitMethod
+ */
+final class BeanCreationPlan {
+
+    private final int beanPostProcessorsVersion;
+
+    private final Class<?> beanClass;
+
+    private final List<InstantiationAwareBeanPostProcessor> instantiationAwareBeanPostProcessors;
+
+    @Nullable
+    private final Method initMethod;
+
+
+    BeanCreationPlan(int beanPostProcessorsVersion, Class<?> beanClass,
+            List<InstantiationAwareBeanPostProcessor> instantiationAwareBeanPostProcessors,
+            @Nullable Method initMethod) {
+
+        this.beanPostProcessorsVersion = beanPostProcessorsVersion;
+        this.beanClass = beanClass;
+        this.instantiationAwareBeanPostProcessors = instantiationAwareBeanPostProcessors;
+        this.initMethod = initMethod;
+    }
+
+
+    /**
+     * Determine whether this plan may be replayed for the given bean class.
+     * @param beanPostProcessorsVersion the current version of the factory's
+     * BeanPostProcessor list
+     * @param beanClass the actual class of the bean instance
+     */
+    boolean isApplicable(int beanPostProcessorsVersion, Class<?> beanClass) {
+        return (this.beanPostProcessorsVersion == beanPostProcessorsVersion && this.beanClass == beanClass);
+    }
+
+    /**
+     * Return the InstantiationAwareBeanPostProcessors to apply, in registration order.
+     */
+    List<InstantiationAwareBeanPostProcessor> getInstantiationAwareBeanPostProcessors() {
+        return this.instantiationAwareBeanPostProcessors;
+    }
+
+    /**
+     * Return the resolved init method, or {@code null} if none declared or not found.
+     */
+    @Nullable
+    Method getInitMethod() {
+        return this.initMethod;
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Incrementally maintained index of bean names by type, used by
+ * {@link DefaultListableBeanFactory} to narrow down the beans that need
+ * to be checked for a by-type lookup.
+ *
+ * <p>Each registered bean is either indexed under a type that is known to
+ * be final for type matching purposes (e.g. the class of a fully created
+ * singleton instance), together with all of that type's superclasses and
+ * interfaces, or kept as unindexed, in which case it is a candidate for
+ * every lookup. A lookup therefore yields the indexed matches plus all
+ * unindexed beans, in registration order, to be checked by the caller.
+ *
+ * <p>Registration order is tracked in two groups: bean definitions first,
+ * manually registered singletons second, mirroring the order in which
+ * {@link DefaultListableBeanFactory} reports by-type matches.
+ *
+ * @since 1.0
+ * @see DefaultListableBeanFactory#getBeanNamesForType
+ */
+final class BeanTypeIndex {
+
+    /** Position offset for manually registered singletons, following all bean definitions */
+    private static final long MANUAL_SINGLETON_OFFSET = Long.MAX_VALUE / 2;
+
+    /** Candidates beyond 1/8 of all beans are checked in a full pass rather than sorted */
+    private static final int SPARSE_CANDIDATE_RATIO = 8;
+
+
+    /** Bean names per type, including the superclasses and interfaces of the indexed types */
+    private final Map<Class<?>, Set<String>> beanNamesByType = new ConcurrentHashMap<>(256);
+
+    /** Indexed type per bean name: bean name --> type */
+    private final Map<String, Class<?>> indexedTypes = new ConcurrentHashMap<>(256);
+
+    /** Names of registered beans without an indexed type */
+    private final Set<String> unindexedBeanNames = ConcurrentHashMap.newKeySet(64);
+
+    /** Registration position per bean name: bean name --> position */
+    private final Map<String, Long> positions = new ConcurrentHashMap<>(256);
+
+    private long nextPosition = 0;
+
+
+    /**
+     * Register the given bean name as unindexed, keeping its position if it is
+     * already registered within the same group.
+     * @param beanName the name of the bean
+     * @param manualSingleton whether the bean is a manually registered singleton
+     * rather than a bean definition
+     */
+    synchronized void register(String beanName, boolean manualSingleton) {
+        Long position = this.positions.get(beanName);
+        if (position == null || (position >= MANUAL_SINGLETON_OFFSET) != manualSingleton) {
+            long newPosition = this.nextPosition++;
+            this.positions.put(beanName, (manualSingleton ? MANUAL_SINGLETON_OFFSET + newPosition : newPosition));
+        }
+        update(beanName, null);
+    }
+
+    /**
+     * Index the given registered bean under the given type.
+     * @param beanName the name of the bean
+     * @param type the type to index the bean under, or {@code null}
+     * to keep the bean as candidate for all lookups
+     */
+    synchronized void update(String beanName, @Nullable Class<?> type) {
+        if (!this.positions.containsKey(beanName)) {
+            return;
+        }
+        Class<?> previousType = this.indexedTypes.get(beanName);
+        if (previousType != null && previousType == type) {
+            return;
+        }
+        // Add first, then remove: concurrent lookups may see a bean twice but never miss it.
+        if (type != null) {
+            for (Class<?> typeToIndex : getTypeHierarchy(type)) {
+                this.beanNamesByType.computeIfAbsent(typeToIndex, t -> ConcurrentHashMap.newKeySet()).add(beanName);
+            }
+            this.indexedTypes.put(beanName, type);
+            this.unindexedBeanNames.remove(beanName);
+        }
+        else {
+            this.unindexedBeanNames.add(beanName);
+            this.indexedTypes.remove(beanName);
+        }
+        if (previousType != null) {
+            removeFromTypeHierarchy(beanName, previousType, type);
+        }
+    }
+
+    /**
+     * Remove the given bean name from this index.
+     * @param beanName the name of the bean
+     */
+    synchronized void remove(String beanName) {
+        this.positions.remove(beanName);
+        this.unindexedBeanNames.remove(beanName);
+        Class<?> previousType = this.indexedTypes.remove(beanName);
+        if (previousType != null) {
+            removeFromTypeHierarchy(beanName, previousType, null);
+        }
+    }
+
+    /**
+     * Remove all bean names from this index.
+     */
+    synchronized void clear() {
+        this.beanNamesByType.clear();
+        this.indexedTypes.clear();
+        this.unindexedBeanNames.clear();
+        this.positions.clear();
+    }
+
+    /**
+     * Return the names of all beans that may match the given type: the beans indexed
+     * under the type or any of its subtypes, plus all unindexed beans.
+     * @param type the type to look up
+     * @return the candidate bean names, in registration order, or {@code null} if
+     * the candidates make up a large share of all beans: iterating over all beans
+     * in registration order and checking {@link #isCandidate} is cheaper then
+     */
+    @Nullable
+    List<String> getCandidateNames(Class<?> type) {
+        Set<String> indexed = this.beanNamesByType.get(type);
+        int candidateCount = (indexed != null ? indexed.size() : 0) + this.unindexedBeanNames.size();
+        if (candidateCount > this.positions.size() / SPARSE_CANDIDATE_RATIO) {
+            return null;
+        }
+        Set<String> candidates = new LinkedHashSet<>(candidateCount);
+        if (indexed != null) {
+            candidates.addAll(indexed);
+        }
+        candidates.addAll(this.unindexedBeanNames);
+        List<String> result = new ArrayList<>(candidates.size());
+        for (String candidate : candidates) {
+            // Skip beans removed in the meantime.
+            if (this.positions.containsKey(candidate)) {
+                result.add(candidate);
+            }
+        }
+        result.sort(Comparator.comparingLong(beanName -> this.positions.getOrDefault(beanName, Long.MAX_VALUE)));
+        return result;
+    }
+
+    /**
+     * Determine whether the given bean may match the given type.
+     * @param beanName the name of the bean
+     * @param type the type to look up
+     * @return {@code false} if the bean is indexed under a type that does not
+     * match, {@code true} otherwise
+     */
+    boolean isCandidate(String beanName, Class<?> type) {
+        if (!this.indexedTypes.containsKey(beanName)) {
+            return true;
+        }
+        Set<String> indexed = this.beanNamesByType.get(type);
+        return (indexed != null && indexed.contains(beanName));
+    }
+
+
+    private void removeFromTypeHierarchy(String beanName, Class<?> previousType, @Nullable Class<?> newType) {
+        Set<Class<?>> retained = (newType != null ? getTypeHierarchy(newType) : Collections.emptySet());
+        for (Class<?> indexedType : getTypeHierarchy(previousType)) {
+            if (!retained.contains(indexedType)) {
+                Set<String> beanNames = this.beanNamesByType.get(indexedType);
+                if (beanNames != null) {
+                    beanNames.remove(beanName);
+                }
+            }
+        }
+    }
+
+    private static Set<Class<?>> getTypeHierarchy(Class<?> type) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        Class<?> current = type;
+        while (current != null) {
+            hierarchy.add(current);
+            current = current.getSuperclass();
+        }
+        hierarchy.addAll(ClassUtils.getAllInterfacesForClassAsSet(type));
+        if (type.isInterface()) {
+            hierarchy.add(Object.class);
+        }
+        return hierarchy;
+    }
+
+}
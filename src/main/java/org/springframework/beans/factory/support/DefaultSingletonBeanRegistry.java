@@ -17,14 +17,15 @@
 package org.springframework.beans.factory.support;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
@@ -32,6 +33,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -61,6 +63,12 @@ import org.springframework.util.StringUtils;
  * (which inherit from it). Can alternatively also be used as a nested
  * helper to delegate to.
  *
+ * <p>Singleton creation is guarded by a lock per bean name rather than by a
+ * registry-wide monitor, so that unrelated singletons may be created concurrently.
+ * Early references to a singleton in creation are only exposed to the thread that
+ * creates it, unless another thread would otherwise deadlock on it: in that case
+ * the circular reference gets resolved just like on a single thread.
+ *
  * @author Juergen Hoeller
  * @since 2.0
  * @see #registerSingleton
@@ -70,18 +78,31 @@ import org.springframework.util.StringUtils;
  */
 public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements SingletonBeanRegistry {
 
+    /** Interval at which a thread waiting for a singleton lock re-checks for a deadlock */
+    private static final long SINGLETON_LOCK_CHECK_INTERVAL = 50;
+
+
     /** Cache of singleton objects: bean name --> bean instance */
     private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
     /** Cache of singleton factories: bean name --> ObjectFactory */
-    private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+    private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
 
     /** Cache of early singleton objects: bean name --> bean instance */
-    private final Map<String, Object> earlySingletonObjects = new HashMap<>(16);
+    private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
     /** Set of registered singletons, containing the bean names in registration order */
     private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
 
+    /** Creation locks for singletons: bean name --> lock */
+    private final Map<String, SingletonLock> singletonLocks = new ConcurrentHashMap<>(256);
+
+    /** Singleton locks that threads are currently waiting for: thread --> wait */
+    private final Map<Thread, SingletonLockWait> singletonLockWaits = new ConcurrentHashMap<>(16);
+
+    /** Sequence for ordering singleton lock waits by the time they started */
+    private final AtomicLong singletonLockWaitSequence = new AtomicLong();
+
     /** Names of beans that are currently in creation */
     private final Set<String> singletonsCurrentlyInCreation =
             Collections.newSetFromMap(new ConcurrentHashMap<>(16));
@@ -90,38 +111,39 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
     private final Set<String> inCreationCheckExclusions =
             Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
-    /** List of suppressed Exceptions, available for associating related causes */
-    @Nullable
-    private Set<Exception> suppressedExceptions;
+    /** List of suppressed Exceptions per creating thread, available for associating related causes */
+    private final ThreadLocal<Set<Exception>> suppressedExceptions =
+            new NamedThreadLocal<>("Suppressed singleton creation exceptions");
 
     /** Flag that indicates whether we're currently within destroySingletons */
-    private boolean singletonsCurrentlyInDestruction = false;
+    private volatile boolean singletonsCurrentlyInDestruction = false;
 
     /** Disposable bean instances: bean name --> disposable instance */
     private final Map<String, Object> disposableBeans = new LinkedHashMap<>();
 
-    /** Map between containing bean names: bean name --> Set of bean names that the bean contains */
-    private final Map<String, Set<String>> containedBeanMap = new ConcurrentHashMap<>(16);
+    /**
+     * Map between containing bean names: bean name --> Set of bean names that the bean contains.
+     * The Sets in this map and the ones below are copied on write, never modified once published.
+     */
+    private final ConcurrentHashMap<String, Set<String>> containedBeanMap = new ConcurrentHashMap<>(16);
 
     /** Map between dependent bean names: bean name --> Set of dependent bean names */
-    private final Map<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
+    private final ConcurrentHashMap<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
 
     /** Map between depending bean names: bean name --> Set of bean names for the bean's dependencies */
-    private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
+    private final ConcurrentHashMap<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
 
     @Override
     public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
         Assert.notNull(beanName, "Bean name must not be null");
         Assert.notNull(singletonObject, "Singleton object must not be null");
-        synchronized (this.singletonObjects) {
-            Object oldObject = this.singletonObjects.get(beanName);
-            if (oldObject != null) {
-                throw new IllegalStateException("Could not register object [" + singletonObject +
-                        "] under bean name '" + beanName + "': there is already object [" + oldObject + "] bound");
-            }
-            addSingleton(beanName, singletonObject);
+        Object oldObject = this.singletonObjects.putIfAbsent(beanName, singletonObject);
+        if (oldObject != null) {
+            throw new IllegalStateException("Could not register object [" + singletonObject +
+                    "] under bean name '" + beanName + "': there is already object [" + oldObject + "] bound");
         }
+        addSingleton(beanName, singletonObject);
     }
 
     /**
@@ -131,10 +153,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      * @param singletonObject the singleton object
      */
     protected void addSingleton(String beanName, Object singletonObject) {
-        synchronized (this.singletonObjects) {
-            this.singletonObjects.put(beanName, singletonObject);
-            this.singletonFactories.remove(beanName);
-            this.earlySingletonObjects.remove(beanName);
+        this.singletonObjects.put(beanName, singletonObject);
+        this.singletonFactories.remove(beanName);
+        this.earlySingletonObjects.remove(beanName);
+        synchronized (this.registeredSingletons) {
             this.registeredSingletons.add(beanName);
         }
     }
@@ -149,10 +171,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      */
     protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
         Assert.notNull(singletonFactory, "Singleton factory must not be null");
-        synchronized (this.singletonObjects) {
-            if (!this.singletonObjects.containsKey(beanName)) {
-                this.singletonFactories.put(beanName, singletonFactory);
-                this.earlySingletonObjects.remove(beanName);
+        if (!this.singletonObjects.containsKey(beanName)) {
+            this.singletonFactories.put(beanName, singletonFactory);
+            this.earlySingletonObjects.remove(beanName);
+            synchronized (this.registeredSingletons) {
                 this.registeredSingletons.add(beanName);
             }
         }
@@ -168,6 +190,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      * Return the (raw) singleton object registered under the given name.
      * <p>Checks already instantiated singletons and also allows for an early
      * reference to a currently created singleton (resolving a circular reference).
+     * Early references are only exposed to the thread that creates the singleton.
      * @param beanName the name of the bean to look for
      * @param allowEarlyReference whether early references should be created or not
      * @return the registered singleton object, or {@code null} if none found
@@ -175,12 +198,30 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
     @Nullable
     protected Object getSingleton(String beanName, boolean allowEarlyReference) {
         Object singletonObject = this.singletonObjects.get(beanName);
-        if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-            synchronized (this.singletonObjects) {
-                singletonObject = this.earlySingletonObjects.get(beanName);
-                if (singletonObject == null && allowEarlyReference) {
-                    ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
-                    if (singletonFactory != null) {
+        if (singletonObject == null && isSingletonCurrentlyInCreation(beanName) &&
+                isSingletonLockHeldByCurrentThread(beanName)) {
+            singletonObject = getEarlySingleton(beanName, allowEarlyReference);
+        }
+        return singletonObject;
+    }
+
+    /**
+     * Return the early reference to the given singleton, if exposed already,
+     * or create it through the registered singleton factory, if requested.
+     * @param beanName the name of the bean to look for
+     * @param allowEarlyReference whether the early reference should be created or not
+     * @return the early singleton object, or {@code null} if none available
+     */
+    @Nullable
+    private Object getEarlySingleton(String beanName, boolean allowEarlyReference) {
+        Object singletonObject = this.earlySingletonObjects.get(beanName);
+        if (singletonObject == null && allowEarlyReference) {
+            ObjectFactory<?> singletonFactory = this.singletonFactories.get(beanName);
+            if (singletonFactory != null) {
+                // Guard against concurrent creation in case of a circular reference across threads.
+                synchronized (singletonFactory) {
+                    singletonObject = this.earlySingletonObjects.get(beanName);
+                    if (singletonObject == null) {
                         singletonObject = singletonFactory.getObject();
                         this.earlySingletonObjects.put(beanName, singletonObject);
                         this.singletonFactories.remove(beanName);
@@ -201,8 +242,21 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      */
     public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
         Assert.notNull(beanName, "Bean name must not be null");
-        synchronized (this.singletonObjects) {
-            Object singletonObject = this.singletonObjects.get(beanName);
+        Object singletonObject = this.singletonObjects.get(beanName);
+        if (singletonObject != null) {
+            return singletonObject;
+        }
+        if (!acquireSingletonLock(beanName)) {
+            // The thread that creates this singleton is waiting for a singleton that
+            // the current thread creates: resolve the circular reference as usual.
+            singletonObject = getEarlySingleton(beanName, true);
+            if (singletonObject == null) {
+                throw new BeanCurrentlyInCreationException(beanName);
+            }
+            return singletonObject;
+        }
+        try {
+            singletonObject = this.singletonObjects.get(beanName);
             if (singletonObject == null) {
                 if (this.singletonsCurrentlyInDestruction) {
                     throw new BeanCreationNotAllowedException(beanName,
@@ -214,9 +268,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
                 }
                 beforeSingletonCreation(beanName);
                 boolean newSingleton = false;
-                boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
+                Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+                boolean recordSuppressedExceptions = (suppressedExceptions == null);
                 if (recordSuppressedExceptions) {
-                    this.suppressedExceptions = new LinkedHashSet<>();
+                    suppressedExceptions = new LinkedHashSet<>();
+                    this.suppressedExceptions.set(suppressedExceptions);
                 }
                 try {
                     singletonObject = singletonFactory.getObject();
@@ -232,7 +288,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
                 }
                 catch (BeanCreationException ex) {
                     if (recordSuppressedExceptions) {
-                        for (Exception suppressedException : this.suppressedExceptions) {
+                        for (Exception suppressedException : suppressedExceptions) {
                             ex.addRelatedCause(suppressedException);
                         }
                     }
@@ -240,7 +296,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
                 }
                 finally {
                     if (recordSuppressedExceptions) {
-                        this.suppressedExceptions = null;
+                        this.suppressedExceptions.remove();
                     }
                     afterSingletonCreation(beanName);
                 }
@@ -250,6 +306,127 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
             }
             return singletonObject;
         }
+        finally {
+            releaseSingletonLock(beanName);
+        }
+    }
+
+    /**
+     * Acquire the creation lock for the given singleton, waiting for any other
+     * thread that currently holds it, e.g. because it creates the singleton.
+     * <p>Subclasses should hold this lock if they perform any sort of extended
+     * creation phase for the given singleton, releasing it through
+     * {@link #releaseSingletonLock} afterwards.
+     * @param beanName the name of the bean
+     * @return {@code true} if the lock has been acquired, or {@code false} if
+     * the thread holding it waits (possibly transitively) for a singleton lock
+     * held by the current thread, i.e. if waiting would lead to a deadlock.
+     * Only the thread that started waiting last within such a cycle gets
+     * {@code false}; all other threads in the cycle keep waiting.
+     * @since 1.0
+     */
+    protected boolean acquireSingletonLock(String beanName) {
+        SingletonLock lock = obtainSingletonLock(beanName);
+        if (lock.tryLock()) {
+            if (isCurrentSingletonLock(beanName, lock)) {
+                return true;
+            }
+            return acquireSingletonLock(beanName);
+        }
+        Thread currentThread = Thread.currentThread();
+        SingletonLockWait wait =
+                new SingletonLockWait(beanName, this.singletonLockWaitSequence.incrementAndGet());
+        this.singletonLockWaits.put(currentThread, wait);
+        try {
+            while (!isSingletonLockCycleToBreak(wait, currentThread)) {
+                if (lock.tryLock(SINGLETON_LOCK_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    if (isCurrentSingletonLock(beanName, lock)) {
+                        return true;
+                    }
+                    lock = obtainSingletonLock(beanName);
+                }
+            }
+            return false;
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BeanCreationException(beanName, "Interrupted while waiting for singleton creation", ex);
+        }
+        finally {
+            this.singletonLockWaits.remove(currentThread);
+        }
+    }
+
+    /**
+     * Release the creation lock for the given singleton.
+     * @param beanName the name of the bean
+     * @since 1.0
+     * @see #acquireSingletonLock
+     */
+    protected void releaseSingletonLock(String beanName) {
+        SingletonLock lock = this.singletonLocks.get(beanName);
+        Assert.state(lock != null && lock.isHeldByCurrentThread(),
+                () -> "Singleton lock for '" + beanName + "' not held by current thread");
+        lock.unlock();
+    }
+
+    /**
+     * Return whether the current thread holds the creation lock for the given singleton.
+     * @param beanName the name of the bean
+     * @since 1.0
+     */
+    protected boolean isSingletonLockHeldByCurrentThread(String beanName) {
+        SingletonLock lock = this.singletonLocks.get(beanName);
+        return (lock != null && lock.isHeldByCurrentThread());
+    }
+
+    private SingletonLock obtainSingletonLock(String beanName) {
+        return this.singletonLocks.computeIfAbsent(beanName, name -> new SingletonLock());
+    }
+
+    /**
+     * Check whether the given lock, just acquired by the current thread, is still
+     * the registered one for the given singleton. A lock that got pruned in the
+     * meantime is released again, so that the caller can retry with the current one.
+     */
+    private boolean isCurrentSingletonLock(String beanName, SingletonLock lock) {
+        if (this.singletonLocks.get(beanName) == lock) {
+            return true;
+        }
+        lock.unlock();
+        return false;
+    }
+
+    /**
+     * Determine whether the lock owner chain starting at the awaited singleton
+     * leads back to the given thread, and whether the given wait is the one to
+     * break that cycle, i.e. whether it started later than any other wait in it.
+     */
+    private boolean isSingletonLockCycleToBreak(SingletonLockWait currentWait, Thread currentThread) {
+        Set<Thread> seen = null;
+        SingletonLockWait wait = currentWait;
+        while (wait != null) {
+            SingletonLock lock = this.singletonLocks.get(wait.beanName);
+            Thread owner = (lock != null ? lock.getOwnerThread() : null);
+            if (owner == null) {
+                return false;
+            }
+            if (owner == currentThread) {
+                return true;
+            }
+            if (seen == null) {
+                seen = new HashSet<>();
+            }
+            if (!seen.add(owner)) {
+                return false;
+            }
+            wait = this.singletonLockWaits.get(owner);
+            if (wait != null && wait.sequence > currentWait.sequence) {
+                // A thread that started waiting later is going to break the cycle
+                return false;
+            }
+        }
+        return false;
     }
 
     /**
@@ -258,10 +435,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      * @param ex the Exception to register
      */
     protected void onSuppressedException(Exception ex) {
-        synchronized (this.singletonObjects) {
-            if (this.suppressedExceptions != null) {
-                this.suppressedExceptions.add(ex);
-            }
+        Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+        if (suppressedExceptions != null) {
+            suppressedExceptions.add(ex);
         }
     }
 
@@ -272,12 +448,13 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      * @see #getSingletonMutex()
      */
     protected void removeSingleton(String beanName) {
-        synchronized (this.singletonObjects) {
-            this.singletonObjects.remove(beanName);
-            this.singletonFactories.remove(beanName);
-            this.earlySingletonObjects.remove(beanName);
+        this.singletonObjects.remove(beanName);
+        this.singletonFactories.remove(beanName);
+        this.earlySingletonObjects.remove(beanName);
+        synchronized (this.registeredSingletons) {
             this.registeredSingletons.remove(beanName);
         }
+        this.singletonLocks.computeIfPresent(beanName, (name, lock) -> (lock.isLocked() ? lock : null));
     }
 
     @Override
@@ -287,14 +464,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
     @Override
     public String[] getSingletonNames() {
-        synchronized (this.singletonObjects) {
+        synchronized (this.registeredSingletons) {
             return StringUtils.toStringArray(this.registeredSingletons);
         }
     }
 
     @Override
     public int getSingletonCount() {
-        synchronized (this.singletonObjects) {
+        synchronized (this.registeredSingletons) {
             return this.registeredSingletons.size();
         }
     }
@@ -378,14 +555,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      * @see #registerDependentBean
      */
     public void registerContainedBean(String containedBeanName, String containingBeanName) {
-        synchronized (this.containedBeanMap) {
-            Set<String> containedBeans =
-                    this.containedBeanMap.computeIfAbsent(containingBeanName, k -> new LinkedHashSet<>(8));
-            if (!containedBeans.add(containedBeanName)) {
-                return;
-            }
+        if (addToBeanNameSet(this.containedBeanMap, containingBeanName, containedBeanName)) {
+            registerDependentBean(containedBeanName, containingBeanName);
         }
-        registerDependentBean(containedBeanName, containingBeanName);
     }
 
     /**
@@ -396,20 +568,39 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      */
     public void registerDependentBean(String beanName, String dependentBeanName) {
         String canonicalName = canonicalName(beanName);
-
-        synchronized (this.dependentBeanMap) {
-            Set<String> dependentBeans =
-                    this.dependentBeanMap.computeIfAbsent(canonicalName, k -> new LinkedHashSet<>(8));
-            if (!dependentBeans.add(dependentBeanName)) {
-                return;
-            }
+        if (addToBeanNameSet(this.dependentBeanMap, canonicalName, dependentBeanName)) {
+            addToBeanNameSet(this.dependenciesForBeanMap, dependentBeanName, canonicalName);
         }
+    }
+
+    /**
+     * Add the given bean name to the Set registered for the given key,
+     * replacing the Set with an extended copy (copy-on-write).
+     * @param map the map to modify
+     * @param key the bean name to register the Set for
+     * @param beanName the bean name to add
+     * @return {@code true} if the bean name has been added, {@code false}
+     * if it was already contained in the Set
+     */
+    private static boolean addToBeanNameSet(
+            ConcurrentHashMap<String, Set<String>> map, String key, String beanName) {
 
-        synchronized (this.dependenciesForBeanMap) {
-            Set<String> dependenciesForBean =
-                    this.dependenciesForBeanMap.computeIfAbsent(dependentBeanName, k -> new LinkedHashSet<>(8));
-            dependenciesForBean.add(canonicalName);
+        // Quick check on the current Set, avoiding the lock on the map bin.
+        Set<String> beanNames = map.get(key);
+        if (beanNames != null && beanNames.contains(beanName)) {
+            return false;
         }
+        boolean[] added = new boolean[1];
+        map.compute(key, (k, existing) -> {
+            if (existing != null && existing.contains(beanName)) {
+                return existing;
+            }
+            Set<String> updated = (existing != null ? new LinkedHashSet<>(existing) : new LinkedHashSet<>(8));
+            updated.add(beanName);
+            added[0] = true;
+            return updated;
+        });
+        return added[0];
     }
 
     /**
@@ -420,9 +611,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      * @since 4.0
      */
     protected boolean isDependent(String beanName, String dependentBeanName) {
-        synchronized (this.dependentBeanMap) {
-            return isDependent(beanName, dependentBeanName, null);
-        }
+        return isDependent(beanName, dependentBeanName, null);
     }
 
     private boolean isDependent(String beanName, String dependentBeanName, @Nullable Set<String> alreadySeen) {
@@ -467,9 +656,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
         if (dependentBeans == null) {
             return new String[0];
         }
-        synchronized (this.dependentBeanMap) {
-            return StringUtils.toStringArray(dependentBeans);
-        }
+        return StringUtils.toStringArray(dependentBeans);
     }
 
     /**
@@ -483,18 +670,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
         if (dependenciesForBean == null) {
             return new String[0];
         }
-        synchronized (this.dependenciesForBeanMap) {
-            return StringUtils.toStringArray(dependenciesForBean);
-        }
+        return StringUtils.toStringArray(dependenciesForBean);
     }
 
     public void destroySingletons() {
         if (logger.isDebugEnabled()) {
             logger.debug("Destroying singletons in " + this);
         }
-        synchronized (this.singletonObjects) {
-            this.singletonsCurrentlyInDestruction = true;
-        }
+        this.singletonsCurrentlyInDestruction = true;
 
         String[] disposableBeanNames;
         synchronized (this.disposableBeans) {
@@ -516,13 +699,14 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      * @since 4.3.15
      */
     protected void clearSingletonCache() {
-        synchronized (this.singletonObjects) {
-            this.singletonObjects.clear();
-            this.singletonFactories.clear();
-            this.earlySingletonObjects.clear();
+        this.singletonObjects.clear();
+        this.singletonFactories.clear();
+        this.earlySingletonObjects.clear();
+        synchronized (this.registeredSingletons) {
             this.registeredSingletons.clear();
-            this.singletonsCurrentlyInDestruction = false;
         }
+        this.singletonLocks.values().removeIf(lock -> !lock.isLocked());
+        this.singletonsCurrentlyInDestruction = false;
     }
 
     /**
@@ -551,11 +735,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
      */
     protected void destroyBean(String beanName, @Nullable DisposableBean bean) {
         // Trigger destruction of dependent beans first...
-        Set<String> dependencies;
-        synchronized (this.dependentBeanMap) {
-            // Within full synchronization in order to guarantee a disconnected Set
-            dependencies = this.dependentBeanMap.remove(beanName);
-        }
+        Set<String> dependencies = this.dependentBeanMap.remove(beanName);
         if (dependencies != null) {
             if (logger.isDebugEnabled()) {
                 logger.debug("Retrieved dependent beans for bean '" + beanName + "': " + dependencies);
@@ -576,11 +756,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
         }
 
         // Trigger destruction of contained beans...
-        Set<String> containedBeans;
-        synchronized (this.containedBeanMap) {
-            // Within full synchronization in order to guarantee a disconnected Set
-            containedBeans = this.containedBeanMap.remove(beanName);
-        }
+        Set<String> containedBeans = this.containedBeanMap.remove(beanName);
         if (containedBeans != null) {
             for (String containedBeanName : containedBeans) {
                 destroySingleton(containedBeanName);
@@ -588,15 +764,15 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
         }
 
         // Remove destroyed bean from other beans' dependencies.
-        synchronized (this.dependentBeanMap) {
-            for (Iterator<Map.Entry<String, Set<String>>> it = this.dependentBeanMap.entrySet().iterator(); it.hasNext();) {
-                Map.Entry<String, Set<String>> entry = it.next();
-                Set<String> dependenciesToClean = entry.getValue();
-                dependenciesToClean.remove(beanName);
-                if (dependenciesToClean.isEmpty()) {
-                    it.remove();
+        for (String key : this.dependentBeanMap.keySet()) {
+            this.dependentBeanMap.computeIfPresent(key, (k, dependenciesToClean) -> {
+                if (!dependenciesToClean.contains(beanName)) {
+                    return dependenciesToClean;
                 }
-            }
+                Set<String> updated = new LinkedHashSet<>(dependenciesToClean);
+                updated.remove(beanName);
+                return (updated.isEmpty() ? null : updated);
+            });
         }
 
         // Remove destroyed bean's prepared dependency information.
@@ -605,13 +781,45 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
     /**
      * Exposes the singleton mutex to subclasses and external collaborators.
-     * <p>Subclasses should synchronize on the given Object if they perform
-     * any sort of extended singleton creation phase. In particular, subclasses
-     * should <i>not</i> have their own mutexes involved in singleton creation,
-     * to avoid the potential for deadlocks in lazy-init situations.
+     * <p>Note that this mutex is <i>not</i> held during singleton creation:
+     * it only guards registry-wide state of subclasses. Subclasses that perform
+     * any sort of extended creation phase for a specific singleton should hold
+     * its creation lock instead, see {@link #acquireSingletonLock}. In particular,
+     * subclasses should <i>not</i> have their own mutexes involved in singleton
+     * creation, to avoid the potential for deadlocks in lazy-init situations.
      */
     public final Object getSingletonMutex() {
         return this.singletonObjects;
     }
 
+
+    /**
+     * Creation lock for a single singleton, exposing its current owner
+     * for deadlock detection.
+     */
+    @SuppressWarnings("serial")
+    private static class SingletonLock extends ReentrantLock {
+
+        @Nullable
+        Thread getOwnerThread() {
+            return getOwner();
+        }
+    }
+
+
+    /**
+     * A thread's wait for a singleton lock, ordered by the time it started.
+     */
+    private static class SingletonLockWait {
+
+        final String beanName;
+
+        final long sequence;
+
+        SingletonLockWait(String beanName, long sequence) {
+            this.beanName = beanName;
+            this.sequence = sequence;
+        }
+    }
+
 }
@@ -95,8 +95,16 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
      */
     protected Object getObjectFromFactoryBean(FactoryBean<?> factory, String beanName, boolean shouldPostProcess) {
         if (factory.isSingleton() && containsSingleton(beanName)) {
-            synchronized (getSingletonMutex()) {
-                Object object = this.factoryBeanObjectCache.get(beanName);
+            Object object = this.factoryBeanObjectCache.get(beanName);
+            if (object != null) {
+                return object;
+            }
+            if (!acquireSingletonLock(beanName)) {
+                throw new BeanCurrentlyInCreationException(beanName,
+                        "FactoryBean object is currently in creation by a thread waiting for the current thread");
+            }
+            try {
+                object = this.factoryBeanObjectCache.get(beanName);
                 if (object == null) {
                     object = doGetObjectFromFactoryBean(factory, beanName);
                     // Only post-process and store if not put there already during getObject() call above
@@ -130,6 +138,9 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
                 }
                 return object;
             }
+            finally {
+                releaseSingletonLock(beanName);
+            }
         }
         else {
             Object object = doGetObjectFromFactoryBean(factory, beanName);
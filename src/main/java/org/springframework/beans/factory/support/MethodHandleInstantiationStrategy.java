@@ -0,0 +1,210 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Instantiation strategy that invokes constructors and factory methods through
+ * {@link MethodHandle MethodHandles} instead of reflection, for bean definitions
+ * that get instantiated repeatedly: that is, prototypes and custom-scoped beans.
+ *
+ * <p>A method handle is created once per constructor or factory method and shared
+ * across bean definitions; each bean definition caches its handle next to its
+ * resolved constructor or factory method. Instantiation of singletons and of Kotlin
+ * types, any member that cannot be made accessible, as well as any invocation with
+ * arguments not matching the parameter types, falls back to the reflective
+ * instantiation of the superclass, as does Method Injection.
+ *
+ * <p>To be set on a bean factory via
+ * {@link AbstractAutowireCapableBeanFactory#setInstantiationStrategy}.
+ *
+ * @since 1.0
+ * @see RootBeanDefinition#isSingleton()
+ */
+public class MethodHandleInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+    /** Uniform type of all handles: (target, arguments) --> result */
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /** Marker for executables that no method handle can be created for */
+    private static final Object NO_HANDLE = new Object();
+
+    private static final Log logger = LogFactory.getLog(MethodHandleInstantiationStrategy.class);
+
+    /** Method handles, shared across bean definitions: constructor or factory method --> handle */
+    private static final Map<Executable, Object> handleCache = new ConcurrentReferenceHashMap<>(64);
+
+
+    @Override
+    protected Object instantiateClass(RootBeanDefinition bd, Constructor<?> ctor, Object... args) {
+        ResolvedHandle resolved = getHandle(bd, ctor);
+        if (resolved == null || !resolved.isApplicable(args)) {
+            return super.instantiateClass(bd, ctor, args);
+        }
+        try {
+            return (Object) resolved.handle.invokeExact((Object) null, args);
+        }
+        catch (Throwable ex) {
+            throw new BeanInstantiationException(ctor, "Constructor threw exception", ex);
+        }
+    }
+
+    @Override
+    @Nullable
+    protected Object invokeFactoryMethod(RootBeanDefinition bd, @Nullable Object factoryBean,
+            Method factoryMethod, @Nullable Object... args) throws IllegalAccessException, InvocationTargetException {
+
+        ResolvedHandle resolved = getHandle(bd, factoryMethod);
+        if (resolved == null || !resolved.isApplicable(args) || (!Modifier.isStatic(factoryMethod.getModifiers()) &&
+                !factoryMethod.getDeclaringClass().isInstance(factoryBean))) {
+            return super.invokeFactoryMethod(bd, factoryBean, factoryMethod, args);
+        }
+        try {
+            return (Object) resolved.handle.invokeExact(factoryBean, args);
+        }
+        catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Obtain the method handle for the given constructor or factory method,
+     * creating it on first access.
+     * @param bd the bean definition to create an instance for
+     * @param executable the constructor or factory method
+     * @return the resolved handle, or {@code null} if reflection is to be used
+     */
+    @Nullable
+    private ResolvedHandle getHandle(RootBeanDefinition bd, Executable executable) {
+        if (bd.isSingleton()) {
+            // Instantiated once: not worth creating a method handle for.
+            return null;
+        }
+        ResolvedHandle resolved = (ResolvedHandle) bd.resolvedInstantiator;
+        if (resolved == null || !resolved.executable.equals(executable)) {
+            resolved = new ResolvedHandle(executable, obtainHandle(executable));
+            bd.resolvedInstantiator = resolved;
+        }
+        return (resolved.handle != null ? resolved : null);
+    }
+
+    @Nullable
+    private static MethodHandle obtainHandle(Executable executable) {
+        Object handle = handleCache.get(executable);
+        if (handle == null) {
+            handle = createHandle(executable);
+            Object existing = handleCache.putIfAbsent(executable, handle);
+            if (existing != null) {
+                handle = existing;
+            }
+        }
+        return (handle != NO_HANDLE ? (MethodHandle) handle : null);
+    }
+
+    private static Object createHandle(Executable executable) {
+        Class<?> declaringClass = executable.getDeclaringClass();
+        if (KotlinDetector.isKotlinType(declaringClass) ||
+                (executable instanceof Constructor && Modifier.isAbstract(declaringClass.getModifiers()))) {
+            return NO_HANDLE;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            int paramCount = executable.getParameterCount();
+            MethodHandle handle;
+            if (executable instanceof Constructor) {
+                Constructor<?> ctor = (Constructor<?>) executable;
+                ReflectionUtils.makeAccessible(ctor);
+                handle = lookup.unreflectConstructor(ctor).asFixedArity();
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            else {
+                Method method = (Method) executable;
+                ReflectionUtils.makeAccessible(method);
+                handle = lookup.unreflect(method).asFixedArity();
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+            }
+            // Spread the argument array, with boxing and casts applied per parameter.
+            return handle.asType(MethodType.genericMethodType(paramCount + 1))
+                    .asSpreader(Object[].class, paramCount).asType(INVOKER_TYPE);
+        }
+        catch (Throwable ex) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to create method handle for " + executable + " - using reflection instead", ex);
+            }
+            return NO_HANDLE;
+        }
+    }
+
+
+    /**
+     * A method handle resolved for a specific constructor or factory method.
+     */
+    private static final class ResolvedHandle {
+
+        final Executable executable;
+
+        @Nullable
+        final MethodHandle handle;
+
+        private final Class<?>[] paramTypes;
+
+        ResolvedHandle(Executable executable, @Nullable MethodHandle handle) {
+            this.executable = executable;
+            this.handle = handle;
+            this.paramTypes = executable.getParameterTypes();
+        }
+
+        /**
+         * Check whether the given arguments match the parameter types, leaving
+         * any mismatch to reflection and its usual error messages.
+         */
+        boolean isApplicable(@Nullable Object[] args) {
+            int argCount = (args != null ? args.length : 0);
+            if (argCount != this.paramTypes.length) {
+                return false;
+            }
+            for (int i = 0; i < argCount; i++) {
+                if (!ClassUtils.isAssignableValue(this.paramTypes[i], args[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -74,6 +74,10 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
     @Nullable
     Object[] preparedConstructorArguments;
 
+    /** Package-visible field for caching a method handle for the resolved constructor or factory method */
+    @Nullable
+    volatile Object resolvedInstantiator;
+
     /** Common lock for the two post-processing fields below */
     final Object postProcessingLock = new Object();
 
@@ -84,6 +88,10 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
     @Nullable
     volatile Boolean beforeInstantiationResolved;
 
+    /** Package-visible field for caching the creation plan of a non-singleton bean */
+    @Nullable
+    volatile BeanCreationPlan creationPlan;
+
     @Nullable
     private Set<Member> externallyManagedConfigMembers;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -84,7 +84,7 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
                     }
                 }
             }
-            return BeanUtils.instantiateClass(constructorToUse);
+            return instantiateClass(bd, constructorToUse);
         }
         else {
             // Must generate CGLIB subclass.
@@ -92,6 +92,21 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
         }
     }
 
+    /**
+     * Create a new instance through the given constructor, applying the given arguments.
+     * <p>The default implementation delegates to {@link BeanUtils#instantiateClass}.
+     * Subclasses may override this method to apply a faster invocation mechanism.
+     * @param bd the bean definition to create an instance for
+     * @param ctor the constructor to use
+     * @param args the arguments to apply
+     * @return the new instance
+     * @throws BeanInstantiationException if the instantiation failed
+     * @since 1.0
+     */
+    protected Object instantiateClass(RootBeanDefinition bd, Constructor<?> ctor, Object... args) {
+        return BeanUtils.instantiateClass(ctor, args);
+    }
+
     /**
      * Subclasses can override this method, which is implemented to throw
      * UnsupportedOperationException, if they can instantiate an object with
@@ -114,7 +129,7 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
                     return null;
                 });
             }
-            return (args != null ? BeanUtils.instantiateClass(ctor, args) : BeanUtils.instantiateClass(ctor));
+            return (args != null ? instantiateClass(bd, ctor, args) : instantiateClass(bd, ctor));
         }
         else {
             return instantiateWithMethodInjection(bd, beanName, owner, ctor, args);
@@ -151,7 +166,7 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
             Method priorInvokedFactoryMethod = currentlyInvokedFactoryMethod.get();
             try {
                 currentlyInvokedFactoryMethod.set(factoryMethod);
-                Object result = factoryMethod.invoke(factoryBean, args);
+                Object result = invokeFactoryMethod(bd, factoryBean, factoryMethod, args);
                 if (result == null) {
                     result = new NullBean();
                 }
@@ -186,4 +201,27 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
         }
     }
 
+    /**
+     * Invoke the given factory method on the given factory bean, applying the given arguments.
+     * <p>The default implementation uses reflection, with the factory method having
+     * been made accessible before. Subclasses may override this method to apply
+     * a faster invocation mechanism.
+     * @param bd the bean definition to create an instance for
+     * @param factoryBean the factory bean instance to call the factory method on,
+     * or {@code null} in case of a static factory method
+     * @param factoryMethod the factory method to use
+     * @param args the arguments to apply
+     * @return the factory method's return value
+     * @throws IllegalAccessException if the factory method is inaccessible
+     * @throws InvocationTargetException if the factory method threw an exception
+     * @since 1.0
+     * @see Method#invoke
+     */
+    @Nullable
+    protected Object invokeFactoryMethod(RootBeanDefinition bd, @Nullable Object factoryBean,
+            Method factoryMethod, @Nullable Object... args) throws IllegalAccessException, InvocationTargetException {
+
+        return factoryMethod.invoke(factoryBean, args);
+    }
+
 }
@@ -19,6 +19,7 @@ package org.springframework.boot.context.properties.bind;
 import java.beans.PropertyEditor;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -39,6 +40,7 @@ import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.ConditionalGenericConverter;
 import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Utility to handle any conversion needed during binding. This class is not thread-safe
@@ -49,6 +51,8 @@ import org.springframework.util.Assert;
  */
 class BindConverter {
 
+    private static final Annotation[] NO_ANNOTATIONS = {};
+
     private static final Set<Class<?>> EXCLUDED_EDITORS;
     static {
         Set<Class<?>> excluded = new HashSet<>();
@@ -56,7 +60,7 @@ class BindConverter {
         EXCLUDED_EDITORS = Collections.unmodifiableSet(excluded);
     }
 
-    private final ConversionService conversionService;
+    private final CompositeConversionService conversionService;
 
     BindConverter(ConversionService conversionService,
                   Consumer<PropertyEditorRegistry> propertyEditorInitializer) {
@@ -97,6 +101,29 @@ class BindConverter {
                 new ResolvableTypeDescriptor(type, annotations));
     }
 
+    /**
+     * Convert the elements of the given array or collection into a new collection
+     * of the given type, resolving the element converter once where possible.
+     * @param aggregate the array or collection to convert
+     * @param type the collection type to create
+     * @return the new collection
+     */
+    public Collection<Object> convertElements(Object aggregate, ResolvableType type) {
+        Collection<?> source;
+        if (aggregate instanceof Collection) {
+            source = (Collection<?>) aggregate;
+        }
+        else if (ObjectUtils.isArray(aggregate)) {
+            source = Arrays.asList(ObjectUtils.toObjectArray(aggregate));
+        }
+        else {
+            // Neither array nor collection (or null): leave it to regular conversion
+            return convert(aggregate, type);
+        }
+        return this.conversionService.convertCollection(source,
+                new ResolvableTypeDescriptor(type, NO_ANNOTATIONS));
+    }
+
     /**
      * A {@link TypeDescriptor} backed by a {@link ResolvableType}.
      */
@@ -146,6 +173,35 @@ class BindConverter {
                     TypeDescriptor.valueOf(targetType));
         }
 
+        /**
+         * Convert the given collection through the first delegate that can handle it,
+         * using bulk conversion for a {@link GenericConversionService} delegate.
+         * <p>Every delegate, including the last one, is considered for bulk conversion.
+         * If that fails, or the matching delegate does not support it, the collection
+         * is converted element by element through
+         * {@link #convert(Object, TypeDescriptor, TypeDescriptor)}.
+         */
+        @SuppressWarnings("unchecked")
+        public Collection<Object> convertCollection(Collection<?> source,
+                                                    TypeDescriptor targetType) {
+            TypeDescriptor sourceType = TypeDescriptor.forObject(source);
+            for (ConversionService delegate : this.delegates) {
+                if (delegate.canConvert(sourceType, targetType)) {
+                    if (delegate instanceof GenericConversionService) {
+                        try {
+                            return ((GenericConversionService) delegate)
+                                    .convertCollection(source, targetType);
+                        }
+                        catch (ConversionException ex) {
+                            // fallback to element-wise conversion through all delegates
+                        }
+                    }
+                    break;
+                }
+            }
+            return (Collection<Object>) convert(source, sourceType, targetType);
+        }
+
         @Override
         public Object convert(Object source, TypeDescriptor sourceType,
                               TypeDescriptor targetType) {
@@ -98,7 +98,8 @@ abstract class IndexedElementsBinder<T> extends AggregateBinder<T> {
         Object aggregate = convert(value, aggregateType, target.getAnnotations());
         ResolvableType collectionType = ResolvableType
                 .forClassWithGenerics(collection.getClass(), elementType);
-        Collection<Object> elements = convert(aggregate, collectionType);
+        Collection<Object> elements = getContext().getConverter()
+                .convertElements(aggregate, collectionType);
         collection.addAll(elements);
     }
 
@@ -64,6 +64,7 @@ public class ApplicationConversionService extends FormattingConversionService {
                 sharedInstance = ApplicationConversionService.sharedInstance;
                 if (sharedInstance == null) {
                     sharedInstance = new ApplicationConversionService();
+                    sharedInstance.freeze();
                     ApplicationConversionService.sharedInstance = sharedInstance;
                 }
             }
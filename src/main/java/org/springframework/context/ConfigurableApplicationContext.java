@@ -24,6 +24,7 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ProtocolResolver;
+import org.springframework.core.metrics.ApplicationStartup;
 import org.springframework.lang.Nullable;
 
 /**
@@ -96,6 +97,26 @@ public interface ConfigurableApplicationContext extends ApplicationContext, Life
     @Override
     ConfigurableEnvironment getEnvironment();
 
+    /**
+     * Set the {@link ApplicationStartup} for this application context.
+     * <p>This allows the application context to record metrics
+     * during startup, e.g. the time spent in each phase of the refresh.
+     * <p>The default implementation does nothing.
+     * @param applicationStartup the new application startup
+     * @since 1.0
+     */
+    default void setApplicationStartup(ApplicationStartup applicationStartup) {
+    }
+
+    /**
+     * Return the {@link ApplicationStartup} for this application context.
+     * <p>The default implementation returns {@link ApplicationStartup#DEFAULT}.
+     * @since 1.0
+     */
+    default ApplicationStartup getApplicationStartup() {
+        return ApplicationStartup.DEFAULT;
+    }
+
     /**
      * Add a new BeanFactoryPostProcessor that will get applied to the internal
      * bean factory of this application context on refresh, before any of the
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.classreading.ClassFileAnnotationScanner;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Pre-filter stage for classpath scanning, rejecting class files that cannot match
+ * any of the include filters based on their declared annotation types alone, before
+ * their full ASM-based metadata is read.
+ *
+ * <p>Only applicable if all include filters are plain {@link AnnotationTypeFilter
+ * AnnotationTypeFilters}, as with the default {@code @Component} filters. Exclude
+ * filters and {@code @Conditional} evaluation are irrelevant here, since they can
+ * only reject further candidates. Keeps track of the number of class files passed
+ * on versus rejected, for reporting by the scanning component provider.
+ *
+ * <p>Class files passed on are read again by a {@link
+ * org.springframework.core.type.classreading.MetadataReader}: the pre-filter only
+ * determines declared annotation names, which is not enough for the final decision
+ * or for the resulting bean definition. The pre-filter pays off since the vast
+ * majority of scanned classes is usually rejected here without the full read.
+ *
+ * @since 1.0
+ * @see ClassFileAnnotationScanner
+ * @see AnnotationTypeFilter#mayMatch
+ */
+final class CandidateComponentPreFilter {
+
+    private final List<AnnotationTypeFilter> includeFilters;
+
+    @Nullable
+    private final ClassLoader classLoader;
+
+    private final AtomicInteger passedCount = new AtomicInteger();
+
+    private final AtomicInteger rejectedCount = new AtomicInteger();
+
+
+    private CandidateComponentPreFilter(List<AnnotationTypeFilter> includeFilters, @Nullable ClassLoader classLoader) {
+        this.includeFilters = includeFilters;
+        this.classLoader = classLoader;
+    }
+
+
+    /**
+     * Determine whether the given class file may match any of the include filters.
+     * @param resource the class file resource
+     * @return {@code false} if the class cannot match, {@code true} if its full
+     * metadata needs to be read for a final decision
+     * @throws IOException if the resource could not be read
+     */
+    public boolean mayMatch(Resource resource) throws IOException {
+        Set<String> annotationTypes = ClassFileAnnotationScanner.getAnnotationTypes(resource);
+        if (annotationTypes == null) {
+            this.passedCount.incrementAndGet();
+            return true;
+        }
+        for (AnnotationTypeFilter filter : this.includeFilters) {
+            if (filter.mayMatch(annotationTypes, this.classLoader)) {
+                this.passedCount.incrementAndGet();
+                return true;
+            }
+        }
+        this.rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Return the number of class files passed on for a full metadata read.
+     */
+    public int getPassedCount() {
+        return this.passedCount.get();
+    }
+
+    /**
+     * Return the number of class files rejected without a full metadata read.
+     */
+    public int getRejectedCount() {
+        return this.rejectedCount.get();
+    }
+
+
+    /**
+     * Create a pre-filter for the given include filters, if applicable.
+     * @param includeFilters the include filters of the scanning component provider
+     * @param classLoader the ClassLoader to load annotation types with
+     * @return the pre-filter, or {@code null} if any of the include filters
+     * cannot be evaluated on declared annotation types alone
+     */
+    @Nullable
+    public static CandidateComponentPreFilter forIncludeFilters(
+            List<TypeFilter> includeFilters, @Nullable ClassLoader classLoader) {
+
+        if (includeFilters.isEmpty()) {
+            return null;
+        }
+        List<AnnotationTypeFilter> annotationTypeFilters = new ArrayList<>(includeFilters.size());
+        for (TypeFilter filter : includeFilters) {
+            // Subclasses may match on further characteristics: no pre-filtering then.
+            if (filter.getClass() != AnnotationTypeFilter.class) {
+                return null;
+            }
+            annotationTypeFilters.add((AnnotationTypeFilter) filter);
+        }
+        return new CandidateComponentPreFilter(annotationTypeFilters, classLoader);
+    }
+
+}
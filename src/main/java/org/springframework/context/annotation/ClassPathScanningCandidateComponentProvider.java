@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,11 +18,19 @@ package org.springframework.context.annotation;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -60,6 +68,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * A component provider that provides candidate components from a base package. Can
@@ -89,6 +98,9 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
     static final String DEFAULT_RESOURCE_PATTERN = "**/*.class";
 
+    /** Number of resources read and filtered per task in parallel scanning mode */
+    private static final int PARALLEL_SCAN_BATCH_SIZE = 64;
+
 
     protected final Log logger = LogFactory.getLog(getClass());
 
@@ -113,6 +125,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
     @Nullable
     private CandidateComponentsIndex componentsIndex;
 
+    private int scanParallelism = 1;
+
 
     /**
      * Protected constructor for flexible subclass initialization.
@@ -162,6 +176,35 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
         this.resourcePattern = resourcePattern;
     }
 
+    /**
+     * Set the maximum number of threads to scan the classpath with.
+     * <p>Default is 1, scanning all resources in the calling thread. A higher value
+     * enables parallel scanning: the resources of each base package are resolved per
+     * classpath root (i.e. per jar file or root directory), and class files are read
+     * and matched against the type filters on a worker pool of the given size that is
+     * set up for each {@link #findCandidateComponents} call. The candidates are
+     * returned in the same order as with sequential scanning, so bean registration
+     * stays reproducible.
+     * <p>In parallel mode, the configured type filters, {@link Conditional @Conditional}
+     * conditions, the {@link #setMetadataReaderFactory MetadataReaderFactory} and
+     * any overridden {@code isCandidateComponent} methods need to be thread-safe.
+     * A components index, if available and applicable, takes precedence as usual.
+     * @since 1.0
+     * @see Runtime#availableProcessors()
+     */
+    public void setScanParallelism(int scanParallelism) {
+        Assert.isTrue(scanParallelism > 0, "'scanParallelism' must be greater than 0");
+        this.scanParallelism = scanParallelism;
+    }
+
+    /**
+     * Return the maximum number of threads to scan the classpath with.
+     * @since 1.0
+     */
+    public int getScanParallelism() {
+        return this.scanParallelism;
+    }
+
     /**
      * Add an include type filter to the <i>end</i> of the inclusion list.
      */
@@ -312,6 +355,9 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
         if (this.componentsIndex != null && indexSupportsIncludeFilters()) {
             return addCandidateComponentsFromIndex(this.componentsIndex, basePackage);
         }
+        else if (this.scanParallelism > 1) {
+            return scanCandidateComponentsInParallel(basePackage);
+        }
         else {
             return scanCandidateComponents(basePackage);
         }
@@ -421,51 +467,211 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
             Resource[] resources = getResourcePatternResolver().getResources(packageSearchPath);
             boolean traceEnabled = logger.isTraceEnabled();
             boolean debugEnabled = logger.isDebugEnabled();
+            CandidateComponentPreFilter preFilter = createPreFilter();
             for (Resource resource : resources) {
-                if (traceEnabled) {
-                    logger.trace("Scanning " + resource);
+                ScannedGenericBeanDefinition candidate =
+                        scanCandidateComponent(resource, preFilter, traceEnabled, debugEnabled);
+                if (candidate != null) {
+                    candidates.add(candidate);
                 }
-                if (resource.isReadable()) {
-                    try {
-                        MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
-                        if (isCandidateComponent(metadataReader)) {
-                            ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
-                            sbd.setResource(resource);
-                            sbd.setSource(resource);
-                            if (isCandidateComponent(sbd)) {
-                                if (debugEnabled) {
-                                    logger.debug("Identified candidate component class: " + resource);
-                                }
-                                candidates.add(sbd);
-                            }
-                            else {
-                                if (debugEnabled) {
-                                    logger.debug("Ignored because not a concrete top-level class: " + resource);
-                                }
-                            }
+            }
+            logPreFilterResult(basePackage, preFilter);
+        }
+        catch (IOException ex) {
+            throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+        }
+        return candidates;
+    }
+
+    private Set<BeanDefinition> scanCandidateComponentsInParallel(String basePackage) {
+        Set<BeanDefinition> candidates = new LinkedHashSet<>();
+        ResourcePatternResolver resolver = getResourcePatternResolver();
+        boolean traceEnabled = logger.isTraceEnabled();
+        boolean debugEnabled = logger.isDebugEnabled();
+        // Initialize shared state up front rather than lazily from the worker threads.
+        getMetadataReaderFactory();
+        getConditionEvaluator();
+        CandidateComponentPreFilter preFilter = createPreFilter();
+
+        ExecutorService executor = createScanExecutor();
+        try {
+            // Resolve the root of the base package in each jar file and root directory,
+            // then resolve the class files within each root as a separate task.
+            Resource[] roots = resolver.getResources(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
+                    resolveBasePackage(basePackage) + '/');
+            List<Future<Resource[]>> resolutions = new ArrayList<>(roots.length);
+            for (Resource root : new LinkedHashSet<>(Arrays.asList(roots))) {
+                String rootUrl = root.getURL().toString();
+                String rootSearchPath = (rootUrl.endsWith("/") ? rootUrl : rootUrl + '/') + this.resourcePattern;
+                resolutions.add(executor.submit(() -> resolver.getResources(rootSearchPath)));
+            }
+
+            // Read and filter the class files in batches, starting with the resources
+            // of the first root while the remaining roots are still being resolved.
+            Set<Resource> seen = new HashSet<>();
+            List<Future<List<ScannedGenericBeanDefinition>>> batches = new ArrayList<>();
+            for (Future<Resource[]> resolution : resolutions) {
+                List<Resource> batch = new ArrayList<>(PARALLEL_SCAN_BATCH_SIZE);
+                for (Resource resource : getScanResult(resolution)) {
+                    if (seen.add(resource)) {
+                        batch.add(resource);
+                        if (batch.size() == PARALLEL_SCAN_BATCH_SIZE) {
+                            batches.add(submitScanBatch(executor, batch, preFilter, traceEnabled, debugEnabled));
+                            batch = new ArrayList<>(PARALLEL_SCAN_BATCH_SIZE);
                         }
-                        else {
-                            if (traceEnabled) {
-                                logger.trace("Ignored because not matching any filter: " + resource);
-                            }
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    batches.add(submitScanBatch(executor, batch, preFilter, traceEnabled, debugEnabled));
+                }
+            }
+
+            // Merge in submission order, i.e. in classpath order as with sequential scanning
+            for (Future<List<ScannedGenericBeanDefinition>> batch : batches) {
+                candidates.addAll(getScanResult(batch));
+            }
+            logPreFilterResult(basePackage, preFilter);
+        }
+        catch (IOException ex) {
+            throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        return candidates;
+    }
+
+    private ExecutorService createScanExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(this.scanParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "classpath-scan-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private Future<List<ScannedGenericBeanDefinition>> submitScanBatch(ExecutorService executor,
+            List<Resource> resources, @Nullable CandidateComponentPreFilter preFilter,
+            boolean traceEnabled, boolean debugEnabled) {
+
+        return executor.submit(() -> {
+            List<ScannedGenericBeanDefinition> candidates = new ArrayList<>();
+            for (Resource resource : resources) {
+                ScannedGenericBeanDefinition candidate =
+                        scanCandidateComponent(resource, preFilter, traceEnabled, debugEnabled);
+                if (candidate != null) {
+                    candidates.add(candidate);
+                }
+            }
+            return candidates;
+        });
+    }
+
+    private <T> T getScanResult(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BeanDefinitionStoreException("Interrupted during classpath scanning", ex);
+        }
+        catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new BeanDefinitionStoreException("Failure during classpath scanning", cause);
+        }
+    }
+
+    /**
+     * Create a pre-filter that rejects class files based on their declared annotation
+     * types alone, if all include filters allow for it and if the decision is not
+     * customized through an overridden {@link #isCandidateComponent(MetadataReader)}.
+     */
+    @Nullable
+    private CandidateComponentPreFilter createPreFilter() {
+        Method candidateCheck = ReflectionUtils.findMethod(getClass(), "isCandidateComponent", MetadataReader.class);
+        if (candidateCheck == null ||
+                candidateCheck.getDeclaringClass() != ClassPathScanningCandidateComponentProvider.class) {
+            return null;
+        }
+        return CandidateComponentPreFilter.forIncludeFilters(
+                this.includeFilters, getResourcePatternResolver().getClassLoader());
+    }
+
+    private void logPreFilterResult(String basePackage, @Nullable CandidateComponentPreFilter preFilter) {
+        if (preFilter != null && logger.isDebugEnabled()) {
+            logger.debug("Scanned " + (preFilter.getPassedCount() + preFilter.getRejectedCount()) +
+                    " class files for base package '" + basePackage + "': " + preFilter.getPassedCount() +
+                    " parsed, " + preFilter.getRejectedCount() + " rejected by annotation pre-filter");
+        }
+    }
+
+    /**
+     * Read the given resource and turn it into a bean definition
+     * if it qualifies as a candidate component.
+     * @param resource the class file resource
+     * @param preFilter the annotation pre-filter to apply before reading
+     * the full class metadata, if any
+     * @return the candidate bean definition, or {@code null} if not a candidate
+     */
+    @Nullable
+    private ScannedGenericBeanDefinition scanCandidateComponent(Resource resource,
+            @Nullable CandidateComponentPreFilter preFilter, boolean traceEnabled, boolean debugEnabled) {
+
+        if (traceEnabled) {
+            logger.trace("Scanning " + resource);
+        }
+        if (resource.isReadable()) {
+            try {
+                if (preFilter != null && !preFilter.mayMatch(resource)) {
+                    if (traceEnabled) {
+                        logger.trace("Ignored because not declaring any matching annotation: " + resource);
+                    }
+                    return null;
+                }
+                // Full read for classes passed on by the pre-filter, see CandidateComponentPreFilter.
+                MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+                if (isCandidateComponent(metadataReader)) {
+                    ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
+                    sbd.setResource(resource);
+                    sbd.setSource(resource);
+                    if (isCandidateComponent(sbd)) {
+                        if (debugEnabled) {
+                            logger.debug("Identified candidate component class: " + resource);
                         }
+                        return sbd;
                     }
-                    catch (Throwable ex) {
-                        throw new BeanDefinitionStoreException(
-                                "Failed to read candidate component class: " + resource, ex);
+                    else {
+                        if (debugEnabled) {
+                            logger.debug("Ignored because not a concrete top-level class: " + resource);
+                        }
                     }
                 }
                 else {
                     if (traceEnabled) {
-                        logger.trace("Ignored because not readable: " + resource);
+                        logger.trace("Ignored because not matching any filter: " + resource);
                     }
                 }
             }
+            catch (Throwable ex) {
+                throw new BeanDefinitionStoreException(
+                        "Failed to read candidate component class: " + resource, ex);
+            }
         }
-        catch (IOException ex) {
-            throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+        else {
+            if (traceEnabled) {
+                logger.trace("Ignored because not readable: " + resource);
+            }
         }
-        return candidates;
+        return null;
     }
 
 
@@ -508,11 +714,15 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
      * @return whether the class qualifies as a candidate component
      */
     private boolean isConditionMatch(MetadataReader metadataReader) {
+        return !getConditionEvaluator().shouldSkip(metadataReader.getAnnotationMetadata());
+    }
+
+    private ConditionEvaluator getConditionEvaluator() {
         if (this.conditionEvaluator == null) {
             this.conditionEvaluator =
                     new ConditionEvaluator(getRegistry(), this.environment, this.resourcePatternResolver);
         }
-        return !this.conditionEvaluator.shouldSkip(metadataReader.getAnnotationMetadata());
+        return this.conditionEvaluator;
     }
 
     /**
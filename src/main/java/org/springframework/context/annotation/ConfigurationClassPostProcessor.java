@@ -37,6 +37,7 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
@@ -57,6 +58,8 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
@@ -310,11 +313,16 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
                 this.metadataReaderFactory, this.problemReporter, this.environment,
                 this.resourceLoader, this.componentScanBeanNameGenerator, registry);
 
+        ApplicationStartup applicationStartup = (registry instanceof ConfigurableBeanFactory ?
+                ((ConfigurableBeanFactory) registry).getApplicationStartup() : ApplicationStartup.DEFAULT);
         Set<BeanDefinitionHolder> candidates = new LinkedHashSet<>(configCandidates);
         Set<ConfigurationClass> alreadyParsed = new HashSet<>(configCandidates.size());
         do {
+            StartupStep parseStep = applicationStartup.start("spring.context.config-classes.parse")
+                    .tag("candidateCount", String.valueOf(candidates.size()));
             parser.parse(candidates);
             parser.validate();
+            parseStep.end();
 
             Set<ConfigurationClass> configClasses = new LinkedHashSet<>(parser.getConfigurationClasses());
             configClasses.removeAll(alreadyParsed);
@@ -325,7 +333,9 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
                         registry, this.sourceExtractor, this.resourceLoader, this.environment,
                         this.importBeanNameGenerator, parser.getImportRegistry());
             }
+            StartupStep loadStep = applicationStartup.start("spring.context.config-classes.load");
             this.reader.loadBeanDefinitions(configClasses);
+            loadStep.end();
             alreadyParsed.addAll(configClasses);
 
             candidates.clear();
@@ -31,6 +31,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -39,11 +41,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import javax.inject.Provider;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -66,8 +72,13 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -148,6 +159,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     @Nullable
     private Comparator<Object> dependencyComparator;
 
+    /** Optional pool for creating independent singletons in parallel on startup */
+    @Nullable
+    private ForkJoinPool preInstantiationPool;
+
     /** Resolver to use for checking if a bean definition is an autowire candidate */
     private AutowireCandidateResolver autowireCandidateResolver = new SimpleAutowireCandidateResolver();
 
@@ -163,6 +178,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     /** Map of singleton-only bean names, keyed by dependency type */
     private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+    /** Index of candidate bean names for by-type lookups, maintained on registration and removal */
+    private volatile BeanTypeIndex beanTypeIndex = new BeanTypeIndex();
+
     /** List of bean definition names, in registration order */
     private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -279,6 +297,35 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return this.dependencyComparator;
     }
 
+    /**
+     * Set a {@link ForkJoinPool} to pre-instantiate non-lazy singletons on.
+     * <p>Default is none, creating all non-lazy singletons one after the other
+     * on the thread that calls {@link #preInstantiateSingletons()}. If specified,
+     * a dependency graph is derived from the merged bean definitions ("depends-on"
+     * declarations, factory beans, bean references in constructor arguments and
+     * property values), and each singleton gets created on the pool as soon as
+     * the singletons that it declares a reference to are available.
+     * <p>Dependencies that are not declared in the bean definition (e.g. autowired
+     * fields) are still resolved on demand, and circular references between beans
+     * get resolved on a single thread, just like in the sequential case.
+     * {@link SmartInitializingSingleton} callbacks are always invoked on the
+     * calling thread, in registration order, once all singletons are available.
+     * @since 1.0
+     * @see #preInstantiateSingletons()
+     */
+    public void setPreInstantiationPool(@Nullable ForkJoinPool preInstantiationPool) {
+        this.preInstantiationPool = preInstantiationPool;
+    }
+
+    /**
+     * Return the pool to pre-instantiate non-lazy singletons on, if any.
+     * @since 1.0
+     */
+    @Nullable
+    public ForkJoinPool getPreInstantiationPool() {
+        return this.preInstantiationPool;
+    }
+
     /**
      * Set a custom autowire candidate resolver for this BeanFactory to use
      * when deciding whether a bean definition should be considered as a
@@ -316,6 +363,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
             this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
             this.dependencyComparator = otherListableFactory.dependencyComparator;
+            this.preInstantiationPool = otherListableFactory.preInstantiationPool;
             // A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware...
             setAutowireCandidateResolver(BeanUtils.instantiateClass(getAutowireCandidateResolver().getClass()));
             // Make resolvable dependencies (e.g. ResourceLoader) available here as well...
@@ -403,87 +451,119 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
         List<String> result = new ArrayList<>();
+        BeanTypeIndex index = this.beanTypeIndex;
+        Class<?> rawType = type.resolve();
 
-        // Check all bean definitions.
-        for (String beanName : this.beanDefinitionNames) {
-            // Only consider bean as eligible if the bean name
-            // is not defined as alias for some other bean.
-            if (!isAlias(beanName)) {
-                try {
-                    RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
-                    // Only check bean definition if it is complete.
-                    if (!mbd.isAbstract() && (allowEagerInit ||
-                            (mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
-                                    !requiresEagerInitForType(mbd.getFactoryBeanName()))) {
-                        // In case of FactoryBean, match object created by FactoryBean.
-                        boolean isFactoryBean = isFactoryBean(beanName, mbd);
-                        BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
-                        boolean matchFound =
-                                (allowEagerInit || !isFactoryBean ||
-                                        (dbd != null && !mbd.isLazyInit()) || containsSingleton(beanName)) &&
-                                        (includeNonSingletons ||
-                                                (dbd != null ? mbd.isSingleton() : isSingleton(beanName))) &&
-                                        isTypeMatch(beanName, type);
-                        if (!matchFound && isFactoryBean) {
-                            // In case of FactoryBean, try to match FactoryBean instance itself next.
-                            beanName = FACTORY_BEAN_PREFIX + beanName;
-                            matchFound = (includeNonSingletons || mbd.isSingleton()) && isTypeMatch(beanName, type);
-                        }
-                        if (matchFound) {
-                            result.add(beanName);
-                        }
-                    }
-                }
-                catch (CannotLoadBeanClassException ex) {
-                    if (allowEagerInit) {
-                        throw ex;
-                    }
-                    // Probably a class name with a placeholder: let's ignore it for type matching purposes.
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Ignoring bean class loading failure for bean '" + beanName + "'", ex);
-                    }
-                    onSuppressedException(ex);
+        List<String> candidateNames = (rawType != null ? index.getCandidateNames(rawType) : null);
+        if (candidateNames != null) {
+            // Only check the few beans that the type index considers as candidates.
+            for (String beanName : candidateNames) {
+                if (this.beanDefinitionMap.containsKey(beanName)) {
+                    addMatchingBeanDefinition(beanName, type, includeNonSingletons, allowEagerInit, result);
                 }
-                catch (BeanDefinitionStoreException ex) {
-                    if (allowEagerInit) {
-                        throw ex;
-                    }
-                    // Probably some metadata with a placeholder: let's ignore it for type matching purposes.
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Ignoring unresolvable metadata in bean definition '" + beanName + "'", ex);
-                    }
-                    onSuppressedException(ex);
+                else if (this.manualSingletonNames.contains(beanName)) {
+                    addMatchingManualSingleton(beanName, type, includeNonSingletons, result);
                 }
             }
+            return StringUtils.toStringArray(result);
+        }
+
+        // Check all bean definitions.
+        for (String beanName : this.beanDefinitionNames) {
+            if (rawType == null || index.isCandidate(beanName, rawType)) {
+                addMatchingBeanDefinition(beanName, type, includeNonSingletons, allowEagerInit, result);
+            }
         }
 
         // Check manually registered singletons too.
         for (String beanName : this.manualSingletonNames) {
+            if (rawType == null || index.isCandidate(beanName, rawType)) {
+                addMatchingManualSingleton(beanName, type, includeNonSingletons, result);
+            }
+        }
+
+        return StringUtils.toStringArray(result);
+    }
+
+    private void addMatchingBeanDefinition(String beanName, ResolvableType type,
+            boolean includeNonSingletons, boolean allowEagerInit, List<String> result) {
+
+        // Only consider bean as eligible if the bean name
+        // is not defined as alias for some other bean.
+        if (!isAlias(beanName)) {
             try {
-                // In case of FactoryBean, match object created by FactoryBean.
-                if (isFactoryBean(beanName)) {
-                    if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
+                RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+                // Only check bean definition if it is complete.
+                if (!mbd.isAbstract() && (allowEagerInit ||
+                        (mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
+                                !requiresEagerInitForType(mbd.getFactoryBeanName()))) {
+                    // In case of FactoryBean, match object created by FactoryBean.
+                    boolean isFactoryBean = isFactoryBean(beanName, mbd);
+                    BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
+                    boolean matchFound =
+                            (allowEagerInit || !isFactoryBean ||
+                                    (dbd != null && !mbd.isLazyInit()) || containsSingleton(beanName)) &&
+                                    (includeNonSingletons ||
+                                            (dbd != null ? mbd.isSingleton() : isSingleton(beanName))) &&
+                                    isTypeMatch(beanName, type);
+                    if (!matchFound && isFactoryBean) {
+                        // In case of FactoryBean, try to match FactoryBean instance itself next.
+                        beanName = FACTORY_BEAN_PREFIX + beanName;
+                        matchFound = (includeNonSingletons || mbd.isSingleton()) && isTypeMatch(beanName, type);
+                    }
+                    if (matchFound) {
                         result.add(beanName);
-                        // Match found for this bean: do not match FactoryBean itself anymore.
-                        continue;
                     }
-                    // In case of FactoryBean, try to match FactoryBean itself next.
-                    beanName = FACTORY_BEAN_PREFIX + beanName;
                 }
-                // Match raw bean instance (might be raw FactoryBean).
-                if (isTypeMatch(beanName, type)) {
-                    result.add(beanName);
+            }
+            catch (CannotLoadBeanClassException ex) {
+                if (allowEagerInit) {
+                    throw ex;
                 }
+                // Probably a class name with a placeholder: let's ignore it for type matching purposes.
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Ignoring bean class loading failure for bean '" + beanName + "'", ex);
+                }
+                onSuppressedException(ex);
             }
-            catch (NoSuchBeanDefinitionException ex) {
-                // Shouldn't happen - probably a result of circular reference resolution...
+            catch (BeanDefinitionStoreException ex) {
+                if (allowEagerInit) {
+                    throw ex;
+                }
+                // Probably some metadata with a placeholder: let's ignore it for type matching purposes.
                 if (logger.isDebugEnabled()) {
-                    logger.debug("Failed to check manually registered singleton with name '" + beanName + "'", ex);
+                    logger.debug("Ignoring unresolvable metadata in bean definition '" + beanName + "'", ex);
                 }
+                onSuppressedException(ex);
             }
         }
+    }
 
-        return StringUtils.toStringArray(result);
+    private void addMatchingManualSingleton(String beanName, ResolvableType type,
+            boolean includeNonSingletons, List<String> result) {
+
+        try {
+            // In case of FactoryBean, match object created by FactoryBean.
+            if (isFactoryBean(beanName)) {
+                if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
+                    result.add(beanName);
+                    // Match found for this bean: do not match FactoryBean itself anymore.
+                    return;
+                }
+                // In case of FactoryBean, try to match FactoryBean itself next.
+                beanName = FACTORY_BEAN_PREFIX + beanName;
+            }
+            // Match raw bean instance (might be raw FactoryBean).
+            if (isTypeMatch(beanName, type)) {
+                result.add(beanName);
+            }
+        }
+        catch (NoSuchBeanDefinitionException ex) {
+            // Shouldn't happen - probably a result of circular reference resolution...
+            if (logger.isDebugEnabled()) {
+                logger.debug("Failed to check manually registered singleton with name '" + beanName + "'", ex);
+            }
+        }
     }
 
     /**
@@ -699,12 +779,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     public void clearMetadataCache() {
         super.clearMetadataCache();
         clearByTypeCache();
+        rebuildBeanTypeIndex();
     }
 
     @Override
     public void freezeConfiguration() {
         this.configurationFrozen = true;
         this.frozenBeanDefinitionNames = StringUtils.toStringArray(this.beanDefinitionNames);
+        // Bean definition metadata may be used for type indexing from now on.
+        rebuildBeanTypeIndex();
     }
 
     @Override
@@ -733,30 +816,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
         // Trigger initialization of all non-lazy singleton beans...
-        for (String beanName : beanNames) {
-            RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-            if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-                if (isFactoryBean(beanName)) {
-                    Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-                    if (bean instanceof FactoryBean) {
-                        final FactoryBean<?> factory = (FactoryBean<?>) bean;
-                        boolean isEagerInit;
-                        if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-                            isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
-                                            ((SmartFactoryBean<?>) factory)::isEagerInit,
-                                    getAccessControlContext());
-                        }
-                        else {
-                            isEagerInit = (factory instanceof SmartFactoryBean &&
-                                    ((SmartFactoryBean<?>) factory).isEagerInit());
-                        }
-                        if (isEagerInit) {
-                            getBean(beanName);
-                        }
-                    }
-                }
-                else {
-                    getBean(beanName);
+        ForkJoinPool pool = this.preInstantiationPool;
+        if (pool != null) {
+            preInstantiateSingletonsInParallel(beanNames, pool);
+        }
+        else {
+            for (String beanName : beanNames) {
+                RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+                if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+                    preInstantiateSingleton(beanName);
                 }
             }
         }
@@ -780,6 +848,185 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     }
 
 
+    /**
+     * Eagerly create the given non-lazy singleton, or the object exposed by it
+     * in case of an eager-init {@link SmartFactoryBean}.
+     * @param beanName the name of the bean
+     */
+    private void preInstantiateSingleton(String beanName) {
+        if (isFactoryBean(beanName)) {
+            Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+            if (bean instanceof FactoryBean) {
+                final FactoryBean<?> factory = (FactoryBean<?>) bean;
+                boolean isEagerInit;
+                if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+                    isEagerInit = AccessController.doPrivileged((PrivilegedAction<Boolean>)
+                                    ((SmartFactoryBean<?>) factory)::isEagerInit,
+                            getAccessControlContext());
+                }
+                else {
+                    isEagerInit = (factory instanceof SmartFactoryBean &&
+                            ((SmartFactoryBean<?>) factory).isEagerInit());
+                }
+                if (isEagerInit) {
+                    getBean(beanName);
+                }
+            }
+        }
+        else {
+            getBean(beanName);
+        }
+    }
+
+    /**
+     * Create all non-lazy singletons among the given bean names on the given pool,
+     * scheduling each of them after the singletons that its bean definition refers to.
+     * Returns once all of them have been processed, rethrowing the first failure
+     * in registration order, if any.
+     * @param beanNames the bean names to consider, in registration order
+     * @param pool the pool to create the singletons on
+     * @see #setPreInstantiationPool
+     */
+    private void preInstantiateSingletonsInParallel(List<String> beanNames, ForkJoinPool pool) {
+        Map<String, RootBeanDefinition> candidates = new LinkedHashMap<>(beanNames.size());
+        for (String beanName : beanNames) {
+            RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+            if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+                candidates.put(beanName, bd);
+            }
+        }
+
+        Map<String, CompletableFuture<Void>> creations = new HashMap<>(candidates.size());
+        Set<String> inProgress = new HashSet<>();
+        for (String beanName : candidates.keySet()) {
+            schedulePreInstantiation(beanName, candidates, creations, inProgress, pool);
+        }
+
+        RuntimeException failure = null;
+        for (String beanName : candidates.keySet()) {
+            try {
+                creations.get(beanName).join();
+            }
+            catch (CompletionException ex) {
+                if (failure == null) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    failure = (cause instanceof RuntimeException ? (RuntimeException) cause :
+                            new BeanCreationException(beanName, "Parallel pre-instantiation failed", cause));
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Schedule the creation of the given singleton, after scheduling the creation
+     * of the singletons that it declares a reference to (depth-first).
+     * <p>A reference back to a bean whose scheduling is still in progress indicates
+     * a circular reference: such an edge is left out of the graph, so the cycle
+     * gets resolved through early singleton references on a single thread.
+     * @return the future for the creation of the given singleton, or {@code null}
+     * if its scheduling is still in progress further up in the graph
+     */
+    @Nullable
+    private CompletableFuture<Void> schedulePreInstantiation(String beanName,
+            Map<String, RootBeanDefinition> candidates, Map<String, CompletableFuture<Void>> creations,
+            Set<String> inProgress, ForkJoinPool pool) {
+
+        CompletableFuture<Void> creation = creations.get(beanName);
+        if (creation != null || !inProgress.add(beanName)) {
+            return creation;
+        }
+        Set<String> dependencies = new LinkedHashSet<>();
+        collectDeclaredDependencies(candidates.get(beanName), dependencies);
+        List<CompletableFuture<Void>> prerequisites = new ArrayList<>(dependencies.size());
+        for (String dependency : dependencies) {
+            if (!beanName.equals(dependency) && candidates.containsKey(dependency)) {
+                CompletableFuture<Void> prerequisite =
+                        schedulePreInstantiation(dependency, candidates, creations, inProgress, pool);
+                if (prerequisite != null) {
+                    prerequisites.add(prerequisite);
+                }
+            }
+        }
+        Runnable task = () -> preInstantiateSingleton(beanName);
+        if (prerequisites.isEmpty()) {
+            creation = CompletableFuture.runAsync(task, pool);
+        }
+        else {
+            creation = CompletableFuture.allOf(prerequisites.toArray(new CompletableFuture<?>[0]))
+                    .thenRunAsync(task, pool);
+        }
+        creations.put(beanName, creation);
+        inProgress.remove(beanName);
+        return creation;
+    }
+
+    /**
+     * Collect the names of all beans that the given bean definition explicitly
+     * refers to: "depends-on" declarations, its factory bean, and bean references
+     * in constructor argument and property values (including inner beans).
+     * @param bd the bean definition to introspect
+     * @param beanNames the Set to add the canonical bean names to
+     */
+    private void collectDeclaredDependencies(BeanDefinition bd, Set<String> beanNames) {
+        String[] dependsOn = bd.getDependsOn();
+        if (dependsOn != null) {
+            for (String dependsOnBean : dependsOn) {
+                beanNames.add(transformedBeanName(dependsOnBean));
+            }
+        }
+        String factoryBeanName = bd.getFactoryBeanName();
+        if (factoryBeanName != null) {
+            beanNames.add(transformedBeanName(factoryBeanName));
+        }
+        if (bd.hasConstructorArgumentValues()) {
+            ConstructorArgumentValues cargs = bd.getConstructorArgumentValues();
+            for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getIndexedArgumentValues().values()) {
+                collectBeanReferences(valueHolder.getValue(), beanNames);
+            }
+            for (ConstructorArgumentValues.ValueHolder valueHolder : cargs.getGenericArgumentValues()) {
+                collectBeanReferences(valueHolder.getValue(), beanNames);
+            }
+        }
+        if (bd.hasPropertyValues()) {
+            for (PropertyValue pv : bd.getPropertyValues().getPropertyValues()) {
+                collectBeanReferences(pv.getValue(), beanNames);
+            }
+        }
+    }
+
+    private void collectBeanReferences(@Nullable Object value, Set<String> beanNames) {
+        if (value instanceof RuntimeBeanReference) {
+            RuntimeBeanReference ref = (RuntimeBeanReference) value;
+            if (!ref.isToParent()) {
+                beanNames.add(transformedBeanName(ref.getBeanName()));
+            }
+        }
+        else if (value instanceof BeanDefinitionHolder) {
+            collectDeclaredDependencies(((BeanDefinitionHolder) value).getBeanDefinition(), beanNames);
+        }
+        else if (value instanceof BeanDefinition) {
+            collectDeclaredDependencies((BeanDefinition) value, beanNames);
+        }
+        else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                collectBeanReferences(element, beanNames);
+            }
+        }
+        else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                collectBeanReferences(entry.getKey(), beanNames);
+                collectBeanReferences(entry.getValue(), beanNames);
+            }
+        }
+    }
+
+
     //---------------------------------------------------------------------
     // Implementation of BeanDefinitionRegistry interface
     //---------------------------------------------------------------------
@@ -860,6 +1107,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         if (existingDefinition != null || containsSingleton(beanName)) {
             resetBeanDefinition(beanName);
         }
+
+        this.beanTypeIndex.register(beanName, false);
+        updateBeanTypeIndex(beanName);
     }
 
     @Override
@@ -887,6 +1137,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             this.beanDefinitionNames.remove(beanName);
         }
         this.frozenBeanDefinitionNames = null;
+        this.beanTypeIndex.remove(beanName);
 
         resetBeanDefinition(beanName);
     }
@@ -946,9 +1197,36 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             }
         }
 
+        if (!this.beanDefinitionMap.containsKey(beanName)) {
+            this.beanTypeIndex.register(beanName, true);
+            updateBeanTypeIndex(beanName);
+        }
         clearByTypeCache();
     }
 
+    /**
+     * Overridden to index the singleton instance's type for by-type lookups.
+     */
+    @Override
+    protected void addSingleton(String beanName, Object singletonObject) {
+        super.addSingleton(beanName, singletonObject);
+        this.beanTypeIndex.update(beanName, getIndexedType(singletonObject));
+    }
+
+    /**
+     * Overridden to drop the singleton instance's type from the type index.
+     */
+    @Override
+    protected void removeSingleton(String beanName) {
+        super.removeSingleton(beanName);
+        if (this.beanDefinitionMap.containsKey(beanName)) {
+            updateBeanTypeIndex(beanName);
+        }
+        else {
+            this.beanTypeIndex.remove(beanName);
+        }
+    }
+
     @Override
     public void destroySingleton(String beanName) {
         super.destroySingleton(beanName);
@@ -961,6 +1239,17 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         super.destroySingletons();
         this.manualSingletonNames.clear();
         clearByTypeCache();
+        rebuildBeanTypeIndex();
+    }
+
+    @Override
+    public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
+        super.addBeanPostProcessor(beanPostProcessor);
+        if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor && isConfigurationFrozen()) {
+            // Predicted bean types may differ from the bean definitions now.
+            clearByTypeCache();
+            rebuildBeanTypeIndex();
+        }
     }
 
     /**
@@ -971,6 +1260,93 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         this.singletonBeanNamesByType.clear();
     }
 
+    /**
+     * Re-determine the type under which the given bean is indexed for by-type lookups.
+     * @param beanName the name of the bean
+     */
+    private void updateBeanTypeIndex(String beanName) {
+        this.beanTypeIndex.update(beanName, determineIndexedType(beanName));
+    }
+
+    /**
+     * Rebuild the type index from scratch, e.g. after bean definition metadata changed.
+     */
+    private void rebuildBeanTypeIndex() {
+        synchronized (this.beanDefinitionMap) {
+            BeanTypeIndex index = new BeanTypeIndex();
+            for (String beanName : this.beanDefinitionNames) {
+                index.register(beanName, false);
+                index.update(beanName, determineIndexedType(beanName));
+            }
+            for (String beanName : this.manualSingletonNames) {
+                index.register(beanName, true);
+                index.update(beanName, determineIndexedType(beanName));
+            }
+            // Only publish the fully built index: concurrent lookups keep using the previous one.
+            this.beanTypeIndex = index;
+        }
+    }
+
+    /**
+     * Determine the type that the given bean will be matched against in any case,
+     * i.e. the type of its fully created singleton instance or, once the configuration
+     * is frozen, the predicted target type of its bean definition (also for factory
+     * methods), unless a {@link SmartInstantiationAwareBeanPostProcessor} predicts
+     * a different type for it.
+     * @param beanName the name of the bean
+     * @return the type to index the bean under, or {@code null} if the bean
+     * needs to be checked on every by-type lookup
+     */
+    @Nullable
+    private Class<?> determineIndexedType(String beanName) {
+        Object beanInstance = (containsSingleton(beanName) ? getSingleton(beanName, false) : null);
+        if (beanInstance != null) {
+            return getIndexedType(beanInstance);
+        }
+        if (!isConfigurationFrozen() || getTempClassLoader() != null || !containsBeanDefinition(beanName)) {
+            return null;
+        }
+        try {
+            RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+            if (mbd.isAbstract() || mbd.getDecoratedDefinition() != null) {
+                return null;
+            }
+            String factoryBeanName = mbd.getFactoryBeanName();
+            if (factoryBeanName != null && mbd.getTargetType() == null &&
+                    !containsSingleton(factoryBeanName) && isFactoryBean(factoryBeanName)) {
+                // Predicting the factory method's type would initialize the FactoryBean.
+                return null;
+            }
+            Class<?> beanType = determineTargetType(beanName, mbd);
+            if (beanType == null || FactoryBean.class.isAssignableFrom(beanType)) {
+                return null;
+            }
+            if (!mbd.isSynthetic() && hasInstantiationAwareBeanPostProcessors()) {
+                for (BeanPostProcessor bp : getBeanPostProcessors()) {
+                    if (bp instanceof SmartInstantiationAwareBeanPostProcessor) {
+                        Class<?> predicted =
+                                ((SmartInstantiationAwareBeanPostProcessor) bp).predictBeanType(beanType, beanName);
+                        if (predicted != null && predicted != beanType) {
+                            // The post-processor may replace the bean: check it on every lookup.
+                            return null;
+                        }
+                    }
+                }
+            }
+            return beanType;
+        }
+        catch (BeansException ex) {
+            // Probably some unresolvable metadata: check the bean on every lookup.
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Class<?> getIndexedType(Object beanInstance) {
+        return (beanInstance instanceof FactoryBean || beanInstance instanceof NullBean ?
+                null : beanInstance.getClass());
+    }
+
 
     //---------------------------------------------------------------------
     // Dependency resolution functionality
@@ -18,6 +18,7 @@ package org.springframework.context.event;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -62,9 +63,9 @@ import org.springframework.util.ObjectUtils;
 public abstract class AbstractApplicationEventMulticaster
         implements ApplicationEventMulticaster, BeanClassLoaderAware, BeanFactoryAware {
 
-    private final ListenerRetriever defaultRetriever = new ListenerRetriever(false);
+    private final DefaultListenerRetriever defaultRetriever = new DefaultListenerRetriever();
 
-    final Map<ListenerCacheKey, ListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
+    final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
     @Nullable
     private ClassLoader beanClassLoader;
@@ -72,7 +73,8 @@ public abstract class AbstractApplicationEventMulticaster
     @Nullable
     private BeanFactory beanFactory;
 
-    private Object retrievalMutex = this.defaultRetriever;
+    /** Guards listener registration only: retrieval works on immutable snapshots */
+    private final Object registrationMonitor = new Object();
 
 
     @Override
@@ -88,7 +90,6 @@ public abstract class AbstractApplicationEventMulticaster
             if (this.beanClassLoader == null) {
                 this.beanClassLoader = cbf.getBeanClassLoader();
             }
-            this.retrievalMutex = cbf.getSingletonMutex();
         }
     }
 
@@ -103,47 +104,55 @@ public abstract class AbstractApplicationEventMulticaster
 
     @Override
     public void addApplicationListener(ApplicationListener<?> listener) {
-        synchronized (this.retrievalMutex) {
+        synchronized (this.registrationMonitor) {
+            Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
             // Explicitly remove target for a proxy, if registered already,
             // in order to avoid double invocations of the same listener.
             Object singletonTarget = AopProxyUtils.getSingletonTarget(listener);
             if (singletonTarget instanceof ApplicationListener) {
-                this.defaultRetriever.applicationListeners.remove(singletonTarget);
+                listeners.remove(singletonTarget);
             }
-            this.defaultRetriever.applicationListeners.add(listener);
+            listeners.add(listener);
+            this.defaultRetriever.applicationListeners = listeners;
             this.retrieverCache.clear();
         }
     }
 
     @Override
     public void addApplicationListenerBean(String listenerBeanName) {
-        synchronized (this.retrievalMutex) {
-            this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
+        synchronized (this.registrationMonitor) {
+            Set<String> listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
+            listenerBeans.add(listenerBeanName);
+            this.defaultRetriever.applicationListenerBeans = listenerBeans;
             this.retrieverCache.clear();
         }
     }
 
     @Override
     public void removeApplicationListener(ApplicationListener<?> listener) {
-        synchronized (this.retrievalMutex) {
-            this.defaultRetriever.applicationListeners.remove(listener);
+        synchronized (this.registrationMonitor) {
+            Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
+            listeners.remove(listener);
+            this.defaultRetriever.applicationListeners = listeners;
             this.retrieverCache.clear();
         }
     }
 
     @Override
     public void removeApplicationListenerBean(String listenerBeanName) {
-        synchronized (this.retrievalMutex) {
-            this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
+        synchronized (this.registrationMonitor) {
+            Set<String> listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
+            listenerBeans.remove(listenerBeanName);
+            this.defaultRetriever.applicationListenerBeans = listenerBeans;
             this.retrieverCache.clear();
         }
     }
 
     @Override
     public void removeAllListeners() {
-        synchronized (this.retrievalMutex) {
-            this.defaultRetriever.applicationListeners.clear();
-            this.defaultRetriever.applicationListenerBeans.clear();
+        synchronized (this.registrationMonitor) {
+            this.defaultRetriever.applicationListeners = Collections.emptySet();
+            this.defaultRetriever.applicationListenerBeans = Collections.emptySet();
             this.retrieverCache.clear();
         }
     }
@@ -155,14 +164,16 @@ public abstract class AbstractApplicationEventMulticaster
      * @see org.springframework.context.ApplicationListener
      */
     protected Collection<ApplicationListener<?>> getApplicationListeners() {
-        synchronized (this.retrievalMutex) {
-            return this.defaultRetriever.getApplicationListeners();
-        }
+        return this.defaultRetriever.getApplicationListeners();
     }
 
     /**
      * Return a Collection of ApplicationListeners matching the given
      * event type. Non-matching listeners get excluded early.
+     * <p>Does not acquire any lock: listener registrations are read from an
+     * immutable snapshot, and each cache entry is populated exactly once, by the
+     * thread that registered it. Other threads asking for the same event and
+     * source type in the meantime retrieve their listeners without caching.
      * @param event the event to be propagated. Allows for excluding
      * non-matching listeners early, based on cached matching information.
      * @param eventType the event type
@@ -176,32 +187,34 @@ public abstract class AbstractApplicationEventMulticaster
         Class<?> sourceType = (source != null ? source.getClass() : null);
         ListenerCacheKey cacheKey = new ListenerCacheKey(eventType, sourceType);
 
-        // Quick check for existing entry on ConcurrentHashMap...
-        ListenerRetriever retriever = this.retrieverCache.get(cacheKey);
-        if (retriever != null) {
-            return retriever.getApplicationListeners();
-        }
-
-        if (this.beanClassLoader == null ||
-                (ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
-                        (sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
-            // Fully synchronized building and caching of a ListenerRetriever
-            synchronized (this.retrievalMutex) {
-                retriever = this.retrieverCache.get(cacheKey);
-                if (retriever != null) {
-                    return retriever.getApplicationListeners();
+        // Potential new retriever to populate
+        CachedListenerRetriever newRetriever = null;
+
+        // Quick check for existing entry on ConcurrentHashMap
+        CachedListenerRetriever existingRetriever = this.retrieverCache.get(cacheKey);
+        if (existingRetriever == null) {
+            // Caching a new ListenerRetriever if possible
+            if (this.beanClassLoader == null ||
+                    (ClassUtils.isCacheSafe(event.getClass(), this.beanClassLoader) &&
+                            (sourceType == null || ClassUtils.isCacheSafe(sourceType, this.beanClassLoader)))) {
+                newRetriever = new CachedListenerRetriever();
+                existingRetriever = this.retrieverCache.putIfAbsent(cacheKey, newRetriever);
+                if (existingRetriever != null) {
+                    newRetriever = null;  // no need to populate it in retrieveApplicationListeners
                 }
-                retriever = new ListenerRetriever(true);
-                Collection<ApplicationListener<?>> listeners =
-                        retrieveApplicationListeners(eventType, sourceType, retriever);
-                this.retrieverCache.put(cacheKey, retriever);
-                return listeners;
             }
         }
-        else {
-            // No ListenerRetriever caching -> no synchronization necessary
-            return retrieveApplicationListeners(eventType, sourceType, null);
+
+        if (existingRetriever != null) {
+            Collection<ApplicationListener<?>> result = existingRetriever.getApplicationListeners();
+            if (result != null) {
+                return result;
+            }
+            // If result is null, the existing retriever is not fully populated yet by another thread.
+            // Proceed like caching wasn't possible for this current local attempt.
         }
+
+        return retrieveApplicationListeners(eventType, sourceType, newRetriever);
     }
 
     /**
@@ -212,19 +225,21 @@ public abstract class AbstractApplicationEventMulticaster
      * @return the pre-filtered list of application listeners for the given event and source type
      */
     private Collection<ApplicationListener<?>> retrieveApplicationListeners(
-            ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable ListenerRetriever retriever) {
+            ResolvableType eventType, @Nullable Class<?> sourceType, @Nullable CachedListenerRetriever retriever) {
 
         List<ApplicationListener<?>> allListeners = new ArrayList<>();
-        Set<ApplicationListener<?>> listeners;
-        Set<String> listenerBeans;
-        synchronized (this.retrievalMutex) {
-            listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
-            listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
-        }
+        Set<ApplicationListener<?>> filteredListeners = (retriever != null ? new LinkedHashSet<>() : null);
+        Set<String> filteredListenerBeans = (retriever != null ? new LinkedHashSet<>() : null);
+
+        // Immutable snapshots, read after the retriever got registered in the cache:
+        // a concurrent registration change either shows up here or evicts the retriever.
+        Set<ApplicationListener<?>> listeners = this.defaultRetriever.applicationListeners;
+        Set<String> listenerBeans = this.defaultRetriever.applicationListenerBeans;
+
         for (ApplicationListener<?> listener : listeners) {
             if (supportsEvent(listener, eventType, sourceType)) {
-                if (retriever != null) {
-                    retriever.applicationListeners.add(listener);
+                if (filteredListeners != null) {
+                    filteredListeners.add(listener);
                 }
                 allListeners.add(listener);
             }
@@ -238,12 +253,12 @@ public abstract class AbstractApplicationEventMulticaster
                         ApplicationListener<?> listener =
                                 beanFactory.getBean(listenerBeanName, ApplicationListener.class);
                         if (!allListeners.contains(listener) && supportsEvent(listener, eventType, sourceType)) {
-                            if (retriever != null) {
+                            if (filteredListeners != null) {
                                 if (beanFactory.isSingleton(listenerBeanName)) {
-                                    retriever.applicationListeners.add(listener);
+                                    filteredListeners.add(listener);
                                 }
                                 else {
-                                    retriever.applicationListenerBeans.add(listenerBeanName);
+                                    filteredListenerBeans.add(listenerBeanName);
                                 }
                             }
                             allListeners.add(listener);
@@ -257,9 +272,15 @@ public abstract class AbstractApplicationEventMulticaster
             }
         }
         AnnotationAwareOrderComparator.sort(allListeners);
-        if (retriever != null && retriever.applicationListenerBeans.isEmpty()) {
-            retriever.applicationListeners.clear();
-            retriever.applicationListeners.addAll(allListeners);
+        if (retriever != null) {
+            if (filteredListenerBeans.isEmpty()) {
+                retriever.applicationListeners = new LinkedHashSet<>(allListeners);
+                retriever.applicationListenerBeans = filteredListenerBeans;
+            }
+            else {
+                retriever.applicationListeners = filteredListeners;
+                retriever.applicationListenerBeans = filteredListenerBeans;
+            }
         }
         return allListeners;
     }
@@ -361,30 +382,73 @@ public abstract class AbstractApplicationEventMulticaster
     /**
      * Helper class that encapsulates a specific set of target listeners,
      * allowing for efficient retrieval of pre-filtered listeners.
-     * <p>An instance of this helper gets cached per event type and source type.
+     * <p>An instance of this helper gets cached per event type and source type,
+     * populated once by the thread that put it into the cache.
      */
-    private class ListenerRetriever {
+    private class CachedListenerRetriever {
 
-        public final Set<ApplicationListener<?>> applicationListeners = new LinkedHashSet<>();
+        @Nullable
+        public volatile Set<ApplicationListener<?>> applicationListeners;
 
-        public final Set<String> applicationListenerBeans = new LinkedHashSet<>();
+        @Nullable
+        public volatile Set<String> applicationListenerBeans;
 
-        private final boolean preFiltered;
+        /**
+         * Return the pre-filtered listeners, resolving non-singleton listener
+         * beans on every call, or {@code null} if not populated yet.
+         */
+        @Nullable
+        public Collection<ApplicationListener<?>> getApplicationListeners() {
+            Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
+            Set<String> applicationListenerBeans = this.applicationListenerBeans;
+            if (applicationListeners == null || applicationListenerBeans == null) {
+                // Not fully populated yet
+                return null;
+            }
 
-        public ListenerRetriever(boolean preFiltered) {
-            this.preFiltered = preFiltered;
+            List<ApplicationListener<?>> allListeners = new ArrayList<>(
+                    applicationListeners.size() + applicationListenerBeans.size());
+            allListeners.addAll(applicationListeners);
+            if (!applicationListenerBeans.isEmpty()) {
+                BeanFactory beanFactory = getBeanFactory();
+                for (String listenerBeanName : applicationListenerBeans) {
+                    try {
+                        allListeners.add(beanFactory.getBean(listenerBeanName, ApplicationListener.class));
+                    }
+                    catch (NoSuchBeanDefinitionException ex) {
+                        // Singleton listener instance (without backing bean definition) disappeared -
+                        // probably in the middle of the destruction phase
+                    }
+                }
+                AnnotationAwareOrderComparator.sort(allListeners);
+            }
+            return allListeners;
         }
+    }
+
+
+    /**
+     * Helper class that encapsulates a general set of target listeners,
+     * held as immutable snapshots replaced on every registration change.
+     */
+    private class DefaultListenerRetriever {
+
+        public volatile Set<ApplicationListener<?>> applicationListeners = Collections.emptySet();
+
+        public volatile Set<String> applicationListenerBeans = Collections.emptySet();
 
         public Collection<ApplicationListener<?>> getApplicationListeners() {
+            Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
+            Set<String> applicationListenerBeans = this.applicationListenerBeans;
             List<ApplicationListener<?>> allListeners = new ArrayList<>(
-                    this.applicationListeners.size() + this.applicationListenerBeans.size());
-            allListeners.addAll(this.applicationListeners);
-            if (!this.applicationListenerBeans.isEmpty()) {
+                    applicationListeners.size() + applicationListenerBeans.size());
+            allListeners.addAll(applicationListeners);
+            if (!applicationListenerBeans.isEmpty()) {
                 BeanFactory beanFactory = getBeanFactory();
-                for (String listenerBeanName : this.applicationListenerBeans) {
+                for (String listenerBeanName : applicationListenerBeans) {
                     try {
                         ApplicationListener<?> listener = beanFactory.getBean(listenerBeanName, ApplicationListener.class);
-                        if (this.preFiltered || !allListeners.contains(listener)) {
+                        if (!allListeners.contains(listener)) {
                             allListeners.add(listener);
                         }
                     }
@@ -394,9 +458,7 @@ public abstract class AbstractApplicationEventMulticaster
                     }
                 }
             }
-            if (!this.preFiltered || !this.applicationListenerBeans.isEmpty()) {
-                AnnotationAwareOrderComparator.sort(allListeners);
-            }
+            AnnotationAwareOrderComparator.sort(allListeners);
             return allListeners;
         }
     }
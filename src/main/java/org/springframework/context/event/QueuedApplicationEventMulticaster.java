@@ -0,0 +1,540 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link SimpleApplicationEventMulticaster} variant which hands each event to
+ * a bounded queue per listener, with every listener draining its own queue
+ * on the configured {@linkplain #setTaskExecutor task executor}.
+ *
+ * <p>Events are delivered to each listener in the order of their publication,
+ * while different listeners may process events concurrently. A full queue gets
+ * handled according to the configured {@link OverflowPolicy}. Listeners that
+ * implement {@link BatchApplicationListener} receive all events queued for them,
+ * up to the {@linkplain #setMaxBatchSize maximum batch size}, in a single call.
+ *
+ * <p>Without a task executor, queues get drained on the publishing thread,
+ * which still guarantees per-listener ordering for events published from
+ * within listeners. The same applies if the task executor rejects a drain task.
+ * Exceptions thrown by listeners are passed to the {@linkplain #setErrorHandler
+ * error handler}, if any. Otherwise they are logged when delivering through the
+ * task executor, or propagated to the publisher on synchronous delivery once
+ * the event has been delivered to all other listeners. Errors always propagate.
+ *
+ * <p>Queue depth, delivery counts and latencies per listener are available
+ * through {@link #getListenerQueueMetrics()}, e.g. for spotting slow listeners.
+ *
+ * @since 1.0
+ * @see BatchApplicationListener
+ */
+public class QueuedApplicationEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    /**
+     * Policy for handling an event that does not fit into a listener's queue.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Block the publishing thread until the listener's queue has space.
+         */
+        BLOCK,
+
+        /**
+         * Drop the event for the listener whose queue is full.
+         */
+        DROP,
+
+        /**
+         * Let the publishing thread deliver queued events to the listener itself
+         * until the queue has space, unless another thread is delivering already.
+         */
+        CALLER_RUNS
+    }
+
+
+    /** Interval at which a publisher waiting for queue space re-checks whether it may deliver itself */
+    private static final long CALLER_RUNS_CHECK_INTERVAL = 10;
+
+    private static final Log logger = LogFactory.getLog(QueuedApplicationEventMulticaster.class);
+
+
+    private int queueCapacity = 1024;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    private int maxBatchSize = 64;
+
+    private final Map<ApplicationListener<?>, ListenerQueue> listenerQueues =
+            new ConcurrentReferenceHashMap<>(64, ConcurrentReferenceHashMap.ReferenceType.WEAK);
+
+
+    /**
+     * Create a new QueuedApplicationEventMulticaster.
+     */
+    public QueuedApplicationEventMulticaster() {
+    }
+
+    /**
+     * Create a new QueuedApplicationEventMulticaster for the given BeanFactory.
+     */
+    public QueuedApplicationEventMulticaster(BeanFactory beanFactory) {
+        super(beanFactory);
+    }
+
+
+    /**
+     * Set the maximum number of events to queue per listener.
+     * <p>Default is 1024. Only applies to listeners that did not
+     * receive any events yet.
+     */
+    public void setQueueCapacity(int queueCapacity) {
+        Assert.isTrue(queueCapacity > 0, "Queue capacity must be greater than 0");
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Return the maximum number of events to queue per listener.
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * Set the policy to apply to an event that does not fit into a listener's queue.
+     * <p>Default is {@link OverflowPolicy#BLOCK}.
+     */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        Assert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Return the policy to apply to an event that does not fit into a listener's queue.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    /**
+     * Set the maximum number of queued events to hand to a
+     * {@link BatchApplicationListener} at once.
+     * <p>Default is 64. Other listeners always receive one event at a time.
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        Assert.isTrue(maxBatchSize > 0, "Max batch size must be greater than 0");
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Return the maximum number of queued events to hand to a
+     * {@link BatchApplicationListener} at once.
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * Return the metrics for each listener that received events so far.
+     * @return a snapshot Map from listener to the metrics for its queue
+     */
+    public Map<ApplicationListener<?>, ListenerQueueMetrics> getListenerQueueMetrics() {
+        Map<ApplicationListener<?>, ListenerQueueMetrics> metrics = new LinkedHashMap<>(this.listenerQueues.size());
+        for (Map.Entry<ApplicationListener<?>, ListenerQueue> entry : this.listenerQueues.entrySet()) {
+            metrics.put(entry.getKey(), entry.getValue());
+        }
+        return metrics;
+    }
+
+
+    @Override
+    public void removeApplicationListener(ApplicationListener<?> listener) {
+        super.removeApplicationListener(listener);
+        this.listenerQueues.remove(listener);
+    }
+
+    @Override
+    public void removeAllListeners() {
+        super.removeAllListeners();
+        this.listenerQueues.clear();
+    }
+
+    @Override
+    public void multicastEvent(final ApplicationEvent event, @Nullable ResolvableType eventType) {
+        ResolvableType type = (eventType != null ? eventType : ResolvableType.forInstance(event));
+        List<ListenerQueue> queues = new ArrayList<>();
+        for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
+            ListenerQueue queue = this.listenerQueues.computeIfAbsent(listener, l -> new ListenerQueue(this.queueCapacity));
+            queue.enqueue(new QueuedEvent(listener, event));
+            queues.add(queue);
+        }
+        // Only schedule once the event is queued for all listeners, so that a failing
+        // listener on synchronous delivery does not keep the event from the others.
+        RuntimeException listenerException = null;
+        for (ListenerQueue queue : queues) {
+            try {
+                queue.schedule();
+            }
+            catch (RuntimeException ex) {
+                listenerException = addListenerException(listenerException, ex);
+            }
+        }
+        if (listenerException != null) {
+            throw listenerException;
+        }
+    }
+
+    /**
+     * Keep the first listener exception, adding any later one as suppressed.
+     */
+    private static RuntimeException addListenerException(
+            @Nullable RuntimeException firstException, RuntimeException ex) {
+
+        if (firstException == null) {
+            return ex;
+        }
+        if (firstException != ex) {
+            firstException.addSuppressed(ex);
+        }
+        return firstException;
+    }
+
+    /**
+     * Invoke the given listener with the given batch of events,
+     * all of which have been queued for that listener.
+     * @param listener the ApplicationListener to invoke
+     * @param events the events to propagate, in the order of their publication
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected void invokeListener(BatchApplicationListener<?> listener, List<ApplicationEvent> events) {
+        ErrorHandler errorHandler = getErrorHandler();
+        if (errorHandler != null) {
+            try {
+                ((BatchApplicationListener) listener).onApplicationEvents(events);
+            }
+            catch (Throwable err) {
+                errorHandler.handleError(err);
+            }
+        }
+        else {
+            ((BatchApplicationListener) listener).onApplicationEvents(events);
+        }
+    }
+
+
+    /**
+     * Metrics for the event queue of a single listener.
+     */
+    public interface ListenerQueueMetrics {
+
+        /**
+         * Return the number of events currently waiting in the queue.
+         */
+        int getQueueDepth();
+
+        /**
+         * Return the maximum number of events that the queue can hold.
+         */
+        int getQueueCapacity();
+
+        /**
+         * Return the number of events delivered to the listener so far.
+         */
+        long getDeliveredCount();
+
+        /**
+         * Return the number of events dropped because the queue was full.
+         */
+        long getDroppedCount();
+
+        /**
+         * Return the average time between queueing and completed delivery of an event.
+         * @param unit the time unit to return the latency in
+         */
+        long getAverageLatency(TimeUnit unit);
+
+        /**
+         * Return the longest time between queueing and completed delivery of an event.
+         * @param unit the time unit to return the latency in
+         */
+        long getMaxLatency(TimeUnit unit);
+    }
+
+
+    /**
+     * Holder for an event queued for a listener.
+     */
+    private static final class QueuedEvent {
+
+        final ApplicationListener<?> listener;
+
+        final ApplicationEvent event;
+
+        final long queuedAt = System.nanoTime();
+
+        QueuedEvent(ApplicationListener<?> listener, ApplicationEvent event) {
+            this.listener = listener;
+            this.event = event;
+        }
+    }
+
+
+    /**
+     * Bounded event queue for a single listener, drained by at most one thread at a time.
+     * <p>Does not hold on to its listener other than through queued events, allowing
+     * the listener to be garbage-collected along with its entry in the weak-keyed
+     * queue Map once it is not in use anymore.
+     */
+    private final class ListenerQueue implements ListenerQueueMetrics {
+
+        private final BlockingQueue<QueuedEvent> queue;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        @Nullable
+        private volatile Thread drainingThread;
+
+        private final AtomicLong deliveredCount = new AtomicLong();
+
+        private final AtomicLong droppedCount = new AtomicLong();
+
+        private final AtomicLong totalLatency = new AtomicLong();
+
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        ListenerQueue(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void enqueue(QueuedEvent queuedEvent) {
+            if (!this.queue.offer(queuedEvent)) {
+                if (this.drainingThread == Thread.currentThread()) {
+                    // Published from within the listener while its queue is full:
+                    // deliver right away, just like a synchronous multicaster would.
+                    deliver(queuedEvent.listener, singletonBatch(queuedEvent));
+                    return;
+                }
+                switch (getOverflowPolicy()) {
+                    case DROP:
+                        this.droppedCount.incrementAndGet();
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Dropping event for listener with full queue: " + queuedEvent.listener);
+                        }
+                        return;
+                    case CALLER_RUNS:
+                        enqueueOrDrain(queuedEvent);
+                        break;
+                    default:
+                        enqueueOrWait(queuedEvent);
+                }
+            }
+        }
+
+        private void enqueueOrWait(QueuedEvent queuedEvent) {
+            try {
+                this.queue.put(queuedEvent);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                this.droppedCount.incrementAndGet();
+                logger.warn("Interrupted while waiting for queue space of listener: " + queuedEvent.listener);
+            }
+        }
+
+        private void enqueueOrDrain(QueuedEvent queuedEvent) {
+            try {
+                while (!this.queue.offer(queuedEvent, CALLER_RUNS_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    if (this.draining.compareAndSet(false, true)) {
+                        try {
+                            drainBatch();
+                        }
+                        finally {
+                            this.draining.set(false);
+                        }
+                    }
+                }
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                this.droppedCount.incrementAndGet();
+                logger.warn("Interrupted while waiting for queue space of listener: " + queuedEvent.listener);
+            }
+        }
+
+        void schedule() {
+            if (!this.queue.isEmpty() && this.draining.compareAndSet(false, true)) {
+                Executor executor = getTaskExecutor();
+                if (executor != null) {
+                    try {
+                        executor.execute(this::drain);
+                        return;
+                    }
+                    catch (RejectedExecutionException ex) {
+                        // Fall back to draining on the publishing thread
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("Task executor rejected event delivery - draining queue on current thread", ex);
+                        }
+                    }
+                }
+                drain();
+            }
+        }
+
+        private void drain() {
+            RuntimeException listenerException = null;
+            do {
+                try {
+                    boolean drained = false;
+                    while (!drained) {
+                        try {
+                            drained = !drainBatch();
+                        }
+                        catch (RuntimeException ex) {
+                            // Synchronous delivery: deliver the remaining events first.
+                            listenerException = addListenerException(listenerException, ex);
+                        }
+                    }
+                }
+                finally {
+                    this.draining.set(false);
+                }
+                // Pick up events queued after the last poll but before releasing the queue,
+                // unless another thread started draining in the meantime.
+            }
+            while (!this.queue.isEmpty() && this.draining.compareAndSet(false, true));
+            if (listenerException != null) {
+                throw listenerException;
+            }
+        }
+
+        private boolean drainBatch() {
+            QueuedEvent first = this.queue.poll();
+            if (first == null) {
+                return false;
+            }
+            List<QueuedEvent> batch;
+            if (first.listener instanceof BatchApplicationListener && getMaxBatchSize() > 1) {
+                batch = new ArrayList<>();
+                batch.add(first);
+                this.queue.drainTo(batch, getMaxBatchSize() - 1);
+            }
+            else {
+                batch = singletonBatch(first);
+            }
+            Thread previousThread = this.drainingThread;
+            this.drainingThread = Thread.currentThread();
+            try {
+                deliver(first.listener, batch);
+            }
+            finally {
+                this.drainingThread = previousThread;
+            }
+            return true;
+        }
+
+        private void deliver(ApplicationListener<?> listener, List<QueuedEvent> batch) {
+            try {
+                if (batch.size() > 1) {
+                    List<ApplicationEvent> events = new ArrayList<>(batch.size());
+                    for (QueuedEvent queuedEvent : batch) {
+                        events.add(queuedEvent.event);
+                    }
+                    invokeListener((BatchApplicationListener<?>) listener, events);
+                }
+                else {
+                    invokeListener(listener, batch.get(0).event);
+                }
+            }
+            catch (RuntimeException ex) {
+                if (getTaskExecutor() == null) {
+                    throw ex;
+                }
+                logger.error("Listener threw exception for queued event: " + listener, ex);
+            }
+            finally {
+                long now = System.nanoTime();
+                for (QueuedEvent queuedEvent : batch) {
+                    long latency = now - queuedEvent.queuedAt;
+                    this.totalLatency.addAndGet(latency);
+                    this.maxLatency.accumulateAndGet(latency, Math::max);
+                }
+                this.deliveredCount.addAndGet(batch.size());
+            }
+        }
+
+        private List<QueuedEvent> singletonBatch(QueuedEvent queuedEvent) {
+            List<QueuedEvent> batch = new ArrayList<>(1);
+            batch.add(queuedEvent);
+            return batch;
+        }
+
+        @Override
+        public int getQueueDepth() {
+            return this.queue.size();
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return this.queue.size() + this.queue.remainingCapacity();
+        }
+
+        @Override
+        public long getDeliveredCount() {
+            return this.deliveredCount.get();
+        }
+
+        @Override
+        public long getDroppedCount() {
+            return this.droppedCount.get();
+        }
+
+        @Override
+        public long getAverageLatency(TimeUnit unit) {
+            long delivered = this.deliveredCount.get();
+            return (delivered > 0 ? unit.convert(this.totalLatency.get() / delivered, TimeUnit.NANOSECONDS) : 0);
+        }
+
+        @Override
+        public long getMaxLatency(TimeUnit unit) {
+            return unit.convert(this.maxLatency.get(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
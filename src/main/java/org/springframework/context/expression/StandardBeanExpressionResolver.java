@@ -25,6 +25,7 @@ import org.springframework.beans.factory.config.BeanExpressionContext;
 import org.springframework.beans.factory.config.BeanExpressionResolver;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
@@ -33,6 +34,7 @@ import org.springframework.expression.spel.support.StandardTypeConverter;
 import org.springframework.expression.spel.support.StandardTypeLocator;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
 import org.springframework.util.StringUtils;
 
 /**
@@ -54,6 +56,9 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
     /** Default expression suffix: "}" */
     public static final String DEFAULT_EXPRESSION_SUFFIX = "}";
 
+    /** Default maximum number of parsed expressions to cache: 256 */
+    public static final int DEFAULT_EXPRESSION_CACHE_LIMIT = 256;
+
 
     private String expressionPrefix = DEFAULT_EXPRESSION_PREFIX;
 
@@ -61,7 +66,8 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 
     private ExpressionParser expressionParser;
 
-    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>(256);
+    private volatile ConcurrentLruCache<String, Expression> expressionCache =
+            new ConcurrentLruCache<>(DEFAULT_EXPRESSION_CACHE_LIMIT, this::parseExpression);
 
     private final Map<BeanExpressionContext, StandardEvaluationContext> evaluationCache = new ConcurrentHashMap<>(8);
 
@@ -106,6 +112,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
     public void setExpressionPrefix(String expressionPrefix) {
         Assert.hasText(expressionPrefix, "Expression prefix must not be empty");
         this.expressionPrefix = expressionPrefix;
+        this.expressionCache.clear();
     }
 
     /**
@@ -116,6 +123,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
     public void setExpressionSuffix(String expressionSuffix) {
         Assert.hasText(expressionSuffix, "Expression suffix must not be empty");
         this.expressionSuffix = expressionSuffix;
+        this.expressionCache.clear();
     }
 
     /**
@@ -126,6 +134,32 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
     public void setExpressionParser(ExpressionParser expressionParser) {
         Assert.notNull(expressionParser, "ExpressionParser must not be null");
         this.expressionParser = expressionParser;
+        this.expressionCache.clear();
+    }
+
+    /**
+     * Specify the maximum number of parsed expressions to cache.
+     * <p>Default is 256. Beyond the limit, the least recently used expressions
+     * get evicted, so that dynamically built expression strings cannot make
+     * the cache grow without bounds.
+     * @see #DEFAULT_EXPRESSION_CACHE_LIMIT
+     */
+    public void setExpressionCacheLimit(int expressionCacheLimit) {
+        this.expressionCache = new ConcurrentLruCache<>(expressionCacheLimit, this::parseExpression);
+    }
+
+    /**
+     * Return the number of evaluations that found their parsed expression in the cache.
+     */
+    public long getExpressionCacheHitCount() {
+        return this.expressionCache.getHitCount();
+    }
+
+    /**
+     * Return the number of evaluations that had to parse their expression.
+     */
+    public long getExpressionCacheMissCount() {
+        return this.expressionCache.getMissCount();
     }
 
 
@@ -137,10 +171,6 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
         }
         try {
             Expression expr = this.expressionCache.get(value);
-            if (expr == null) {
-                expr = this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
-                this.expressionCache.put(value, expr);
-            }
             StandardEvaluationContext sec = this.evaluationCache.get(evalContext);
             if (sec == null) {
                 sec = new StandardEvaluationContext(evalContext);
@@ -164,6 +194,10 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
         }
     }
 
+    private Expression parseExpression(String value) {
+        return this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
+    }
+
     /**
      * Template method for customizing the expression evaluation context.
      * <p>The default implementation is empty.
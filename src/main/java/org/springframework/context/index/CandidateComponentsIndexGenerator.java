@@ -0,0 +1,287 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Indexed;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Standalone generator for the candidate components index, reading compiled
+ * class files through ASM-based {@link MetadataReader MetadataReaders} and
+ * writing the stereotypes found to {@value CandidateComponentsIndexLoader#COMPONENTS_RESOURCE_LOCATION}.
+ *
+ * <p>A type qualifies for the index if it is annotated with an annotation that
+ * is itself annotated with {@link Indexed} (e.g. {@code @Component}, also as
+ * meta-annotation as with {@code @Service}), if it is annotated with an annotation
+ * from a {@code javax.*} package, or if it or any of its superclasses and interfaces
+ * is annotated with {@code @Indexed}. The resulting file has the same format as the
+ * one created by the {@code spring-context-indexer} annotation processor, so this
+ * generator can be used as a post-compilation build step where an annotation
+ * processor is not an option. Like that processor, it also registers each package
+ * declaring a {@code package-info} class under the {@value #PACKAGE_INFO_STEREOTYPE}
+ * stereotype, for package-based scanning against the index.
+ *
+ * <p>Since the index file is written after all class files have been read, its
+ * timestamp can be checked against the timestamps of the class files by the
+ * {@link CandidateComponentsIndexLoader} (see
+ * {@link CandidateComponentsIndexLoader#CHECK_INDEX_STALENESS}).
+ *
+ * @since 1.0
+ * @see CandidateComponentsIndexLoader
+ * @see #main
+ */
+public class CandidateComponentsIndexGenerator {
+
+    /** Stereotype for packages declaring a {@code package-info} class */
+    public static final String PACKAGE_INFO_STEREOTYPE = "package-info";
+
+    private static final String INDEXED_ANNOTATION = Indexed.class.getName();
+
+    private static final String JAVAX_PREFIX = "javax.";
+
+    private static final String PACKAGE_INFO_SUFFIX = "." + PACKAGE_INFO_STEREOTYPE;
+
+    private static final Log logger = LogFactory.getLog(CandidateComponentsIndexGenerator.class);
+
+
+    private final MetadataReaderFactory metadataReaderFactory;
+
+    /** Annotation type name --> whether it is directly annotated with @Indexed */
+    private final Map<String, Boolean> indexedAnnotationCache = new HashMap<>();
+
+    /** Type name --> names of the @Indexed types within its type hierarchy */
+    private final Map<String, Set<String>> indexedHierarchyCache = new HashMap<>();
+
+
+    /**
+     * Create a new CandidateComponentsIndexGenerator for the default class loader.
+     * <p>Annotations, superclasses and interfaces referenced by the indexed classes
+     * are resolved against the default class loader.
+     */
+    public CandidateComponentsIndexGenerator() {
+        this(ClassUtils.getDefaultClassLoader());
+    }
+
+    /**
+     * Create a new CandidateComponentsIndexGenerator for the given class loader.
+     * @param classLoader the ClassLoader to resolve annotations, superclasses and
+     * interfaces referenced by the indexed classes against (typically a ClassLoader
+     * that sees the classes to index as well as their dependencies)
+     */
+    public CandidateComponentsIndexGenerator(@Nullable ClassLoader classLoader) {
+        this.metadataReaderFactory = new CachingMetadataReaderFactory(classLoader);
+    }
+
+
+    /**
+     * Generate the index for all class files below the given directory.
+     * @param classesDirectory the root directory of the compiled classes
+     * @return the index entries: type or package name --> comma-separated stereotypes
+     * @throws IOException if the class files could not be read
+     */
+    public Properties generateIndex(File classesDirectory) throws IOException {
+        Properties index = new Properties();
+        index.putAll(collectEntries(classesDirectory));
+        return index;
+    }
+
+    /**
+     * Generate the index for all class files below the given directory and write
+     * it to {@value CandidateComponentsIndexLoader#COMPONENTS_RESOURCE_LOCATION}
+     * within that same directory, replacing any existing index.
+     * @param classesDirectory the root directory of the compiled classes
+     * @return the number of entries (types and packages) in the index
+     * @throws IOException if the class files could not be read or the index could not be written
+     */
+    public int writeIndex(File classesDirectory) throws IOException {
+        Map<String, String> entries = collectEntries(classesDirectory);
+        Path indexFile = classesDirectory.toPath().resolve(CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION);
+        if (entries.isEmpty()) {
+            Files.deleteIfExists(indexFile);
+            return 0;
+        }
+        // Plain "type=stereotypes" lines without timestamp comment, for reproducible output
+        StringBuilder content = new StringBuilder();
+        entries.forEach((type, stereotypes) -> content.append(type).append('=').append(stereotypes).append('\n'));
+        Files.createDirectories(indexFile.getParent());
+        try (OutputStream out = Files.newOutputStream(indexFile)) {
+            out.write(content.toString().getBytes(StandardCharsets.ISO_8859_1));
+        }
+        return entries.size();
+    }
+
+    private Map<String, String> collectEntries(File classesDirectory) throws IOException {
+        if (!classesDirectory.isDirectory()) {
+            throw new FileNotFoundException("Classes directory [" + classesDirectory + "] does not exist");
+        }
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(classesDirectory.toPath())) {
+            classFiles = paths.filter(path -> path.toString().endsWith(ClassUtils.CLASS_FILE_SUFFIX) &&
+                    Files.isRegularFile(path)).collect(Collectors.toList());
+        }
+
+        // Sorted by type name, for reproducible output across builds
+        Map<String, String> entries = new TreeMap<>();
+        for (Path classFile : classFiles) {
+            MetadataReader reader = this.metadataReaderFactory.getMetadataReader(new FileSystemResource(classFile.toFile()));
+            AnnotationMetadata metadata = reader.getAnnotationMetadata();
+            if (metadata.getClassName().endsWith(PACKAGE_INFO_SUFFIX)) {
+                entries.put(ClassUtils.getPackageName(metadata.getClassName()), PACKAGE_INFO_STEREOTYPE);
+                continue;
+            }
+            if (metadata.isAnnotation() || !metadata.isIndependent()) {
+                continue;
+            }
+            Set<String> stereotypes = determineStereotypes(metadata);
+            if (!stereotypes.isEmpty()) {
+                entries.put(metadata.getClassName(), StringUtils.collectionToCommaDelimitedString(stereotypes));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Determine the stereotypes of the given type.
+     * @param metadata the metadata of the type to inspect
+     * @return the stereotypes, in order of discovery (possibly empty)
+     */
+    protected Set<String> determineStereotypes(AnnotationMetadata metadata) {
+        Set<String> stereotypes = new LinkedHashSet<>();
+        for (String annotationType : metadata.getAnnotationTypes()) {
+            if (annotationType.startsWith(JAVAX_PREFIX)) {
+                stereotypes.add(annotationType);
+            }
+            if (isIndexedAnnotation(annotationType)) {
+                stereotypes.add(annotationType);
+            }
+            for (String metaAnnotationType : metadata.getMetaAnnotationTypes(annotationType)) {
+                if (isIndexedAnnotation(metaAnnotationType)) {
+                    stereotypes.add(metaAnnotationType);
+                }
+            }
+        }
+        stereotypes.addAll(getIndexedTypeHierarchy(metadata));
+        return stereotypes;
+    }
+
+    private boolean isIndexedAnnotation(String annotationType) {
+        if (INDEXED_ANNOTATION.equals(annotationType) || annotationType.startsWith("java.lang.annotation.")) {
+            return false;
+        }
+        Boolean indexed = this.indexedAnnotationCache.get(annotationType);
+        if (indexed == null) {
+            AnnotationMetadata metadata = getMetadata(annotationType);
+            indexed = (metadata != null && metadata.hasAnnotation(INDEXED_ANNOTATION));
+            this.indexedAnnotationCache.put(annotationType, indexed);
+        }
+        return indexed;
+    }
+
+    private Set<String> getIndexedTypeHierarchy(AnnotationMetadata metadata) {
+        Set<String> result = new LinkedHashSet<>();
+        if (metadata.hasAnnotation(INDEXED_ANNOTATION)) {
+            result.add(metadata.getClassName());
+        }
+        List<String> supertypes = new ArrayList<>();
+        if (metadata.hasSuperClass()) {
+            supertypes.add(metadata.getSuperClassName());
+        }
+        Collections.addAll(supertypes, metadata.getInterfaceNames());
+        for (String supertype : supertypes) {
+            result.addAll(getIndexedTypeHierarchy(supertype));
+        }
+        return result;
+    }
+
+    private Set<String> getIndexedTypeHierarchy(String typeName) {
+        if (typeName.startsWith("java.")) {
+            return Collections.emptySet();
+        }
+        Set<String> result = this.indexedHierarchyCache.get(typeName);
+        if (result == null) {
+            AnnotationMetadata metadata = getMetadata(typeName);
+            result = (metadata != null ? getIndexedTypeHierarchy(metadata) : Collections.emptySet());
+            this.indexedHierarchyCache.put(typeName, result);
+        }
+        return result;
+    }
+
+    @Nullable
+    private AnnotationMetadata getMetadata(String typeName) {
+        try {
+            return this.metadataReaderFactory.getMetadataReader(typeName).getAnnotationMetadata();
+        }
+        catch (IOException ex) {
+            // Not resolvable against the given ClassLoader: cannot contribute stereotypes.
+            return null;
+        }
+    }
+
+
+    /**
+     * Command-line entry point, generating the index for each given classes
+     * directory, resolving referenced types against the default class loader.
+     * <p>Usage: {@code CandidateComponentsIndexGenerator <classesDirectory>...}
+     * @param args the root directories of the compiled classes
+     * @throws IllegalArgumentException if no classes directory is given
+     * @throws IOException if an index could not be generated
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException(
+                    "Usage: " + CandidateComponentsIndexGenerator.class.getName() + " <classesDirectory>...");
+        }
+        for (String arg : args) {
+            File classesDirectory = Paths.get(arg).toFile();
+            int count = new CandidateComponentsIndexGenerator().writeIndex(classesDirectory);
+            if (logger.isInfoEnabled()) {
+                logger.info("Indexed " + count + " entries in [" + classesDirectory + "]");
+            }
+        }
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,11 +18,17 @@ package org.springframework.context.index;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -31,7 +37,9 @@ import org.springframework.core.SpringProperties;
 import org.springframework.core.io.UrlResource;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ResourceUtils;
 
 /**
  * Candidate components index loading mechanism for internal use within the framework.
@@ -58,9 +66,33 @@ public class CandidateComponentsIndexLoader {
      */
     public static final String IGNORE_INDEX = "spring.index.ignore";
 
+    /**
+     * System property that instructs Spring to check each index against the
+     * timestamps of the class files next to it, ignoring all indexes (i.e.
+     * falling back to regular classpath scanning) if any of them is stale.
+     * <p>The default is "false". Switching this flag to {@code true} is useful
+     * in development setups where classes may be recompiled without regenerating
+     * the index, e.g. with an index written by {@link CandidateComponentsIndexGenerator}
+     * as a post-compilation step. For an index in a directory, all class files
+     * below that directory are taken into account; for an index in a jar file,
+     * the class file entries of that jar. Note that an index written by an
+     * annotation processor during compilation may appear to be slightly older
+     * than the class files written after it; see {@link #STALENESS_TOLERANCE}.
+     */
+    public static final String CHECK_INDEX_STALENESS = "spring.index.checkStaleness";
+
+    /**
+     * The number of milliseconds that a class file may be newer than the index
+     * next to it without the index being considered stale: 10 seconds, covering
+     * class files written at the end of the compilation that produced the index.
+     */
+    public static final long STALENESS_TOLERANCE = 10000;
+
 
     private static final boolean shouldIgnoreIndex = SpringProperties.getFlag(IGNORE_INDEX);
 
+    private static final boolean shouldCheckIndexStaleness = SpringProperties.getFlag(CHECK_INDEX_STALENESS);
+
     private static final Log logger = LogFactory.getLog(CandidateComponentsIndexLoader.class);
 
     private static final ConcurrentMap<ClassLoader, CandidateComponentsIndex> cache =
@@ -99,6 +131,9 @@ public class CandidateComponentsIndexLoader {
             List<Properties> result = new ArrayList<>();
             while (urls.hasMoreElements()) {
                 URL url = urls.nextElement();
+                if (shouldCheckIndexStaleness && isStale(url)) {
+                    return null;
+                }
                 Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(url));
                 result.add(properties);
             }
@@ -114,4 +149,72 @@ public class CandidateComponentsIndexLoader {
         }
     }
 
+    /**
+     * Check whether the index at the given location is older than any of the class
+     * files in the same directory tree or jar file.
+     * @param indexUrl the location of the index
+     * @return {@code true} if the index is stale, {@code false} if it is up to date
+     * or if its location does not allow for a timestamp check
+     */
+    private static boolean isStale(URL indexUrl) throws IOException {
+        if (ResourceUtils.isFileURL(indexUrl)) {
+            Path indexFile = ResourceUtils.getFile(indexUrl).toPath();
+            Path root = indexFile;
+            for (int i = 0; i < COMPONENTS_RESOURCE_LOCATION.split("/").length && root != null; i++) {
+                root = root.getParent();
+            }
+            if (root == null) {
+                return false;
+            }
+            long indexTime = Files.getLastModifiedTime(indexFile).toMillis();
+            try (Stream<Path> paths = Files.walk(root)) {
+                Optional<Path> newerClassFile = paths.filter(path ->
+                        path.toString().endsWith(ClassUtils.CLASS_FILE_SUFFIX) && isNewer(path, indexTime)).findFirst();
+                if (newerClassFile.isPresent()) {
+                    logStale(indexUrl, newerClassFile.get().toString());
+                    return true;
+                }
+            }
+        }
+        else if (ResourceUtils.isJarURL(indexUrl)) {
+            URL jarFileUrl = ResourceUtils.extractJarFileURL(indexUrl);
+            if (!ResourceUtils.isFileURL(jarFileUrl)) {
+                return false;
+            }
+            try (JarFile jarFile = new JarFile(ResourceUtils.getFile(jarFileUrl))) {
+                JarEntry indexEntry = jarFile.getJarEntry(COMPONENTS_RESOURCE_LOCATION);
+                if (indexEntry == null || indexEntry.getTime() == -1) {
+                    return false;
+                }
+                long indexTime = indexEntry.getTime();
+                for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+                    JarEntry entry = entries.nextElement();
+                    if (entry.getName().endsWith(ClassUtils.CLASS_FILE_SUFFIX) &&
+                            entry.getTime() > indexTime + STALENESS_TOLERANCE) {
+                        logStale(indexUrl, entry.getName());
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNewer(Path classFile, long indexTime) {
+        try {
+            return (Files.getLastModifiedTime(classFile).toMillis() > indexTime + STALENESS_TOLERANCE);
+        }
+        catch (IOException ex) {
+            // Removed in the meantime: does not affect the index.
+            return false;
+        }
+    }
+
+    private static void logStale(URL indexUrl, String classFile) {
+        if (logger.isInfoEnabled()) {
+            logger.info("Ignoring stale index [" + indexUrl + "] since class file [" + classFile +
+                    "] has been modified after it: falling back to classpath scanning");
+        }
+    }
+
 }
@@ -76,6 +76,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -215,6 +217,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
     @Nullable
     private Set<ApplicationEvent> earlyApplicationEvents;
 
+    /** Recorder of startup steps, a no-op by default */
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 
     /**
      * Create a new AbstractApplicationContext with no parent.
@@ -314,6 +319,23 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
         return this.environment;
     }
 
+    /**
+     * Set the {@link ApplicationStartup} for this application context,
+     * to be passed on to the internal bean factory on refresh.
+     * <p>Default is {@link ApplicationStartup#DEFAULT}, not recording anything.
+     * @see org.springframework.core.metrics.BufferingApplicationStartup
+     */
+    @Override
+    public void setApplicationStartup(ApplicationStartup applicationStartup) {
+        Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public ApplicationStartup getApplicationStartup() {
+        return this.applicationStartup;
+    }
+
     /**
      * Create and return a new {@link StandardEnvironment}.
      * <p>Subclasses may override this method in order to supply
@@ -513,64 +535,88 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
     @Override
     public void refresh() throws BeansException, IllegalStateException {
         synchronized (this.startupShutdownMonitor) {
-            // Prepare this context for refreshing.
-            prepareRefresh();
-
-            // Tell the subclass to refresh the internal bean factory.
-            ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
+            StartupStep refreshStep = this.applicationStartup.start("spring.context.refresh");
+            try {
+                // Prepare this context for refreshing.
+                prepareRefresh();
 
-            // Prepare the bean factory for use in this context.
-            prepareBeanFactory(beanFactory);
+                // Tell the subclass to refresh the internal bean factory.
+                ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
 
-            try {
-                // Allows post-processing of the bean factory in context subclasses.
-                postProcessBeanFactory(beanFactory);
+                // Prepare the bean factory for use in this context.
+                prepareBeanFactory(beanFactory);
 
-                // Invoke factory processors registered as beans in the context.
-                invokeBeanFactoryPostProcessors(beanFactory);
+                try {
+                    // Allows post-processing of the bean factory in context subclasses.
+                    postProcessBeanFactory(beanFactory);
 
-                // Register bean processors that intercept bean creation.
-                registerBeanPostProcessors(beanFactory);
+                    // Invoke factory processors registered as beans in the context.
+                    StartupStep postProcessStep = this.applicationStartup.start("spring.context.bean-factory.post-process");
+                    try {
+                        invokeBeanFactoryPostProcessors(beanFactory);
+                    }
+                    finally {
+                        postProcessStep.end();
+                    }
 
-                // Initialize message source for this context.
-                initMessageSource();
+                    // Register bean processors that intercept bean creation.
+                    StartupStep registrationStep = this.applicationStartup.start("spring.context.bean-post-processors.register");
+                    try {
+                        registerBeanPostProcessors(beanFactory);
+                    }
+                    finally {
+                        registrationStep.end();
+                    }
 
-                // Initialize event multicaster for this context.
-                initApplicationEventMulticaster();
+                    // Initialize message source for this context.
+                    initMessageSource();
 
-                // Initialize other special beans in specific context subclasses.
-                onRefresh();
+                    // Initialize event multicaster for this context.
+                    initApplicationEventMulticaster();
 
-                // Check for listener beans and register them.
-                registerListeners();
+                    // Initialize other special beans in specific context subclasses.
+                    onRefresh();
 
-                // Instantiate all remaining (non-lazy-init) singletons.
-                finishBeanFactoryInitialization(beanFactory);
+                    // Check for listener beans and register them.
+                    registerListeners();
 
-                // Last step: publish corresponding event.
-                finishRefresh();
-            }
+                    // Instantiate all remaining (non-lazy-init) singletons.
+                    StartupStep instantiationStep = this.applicationStartup.start("spring.context.singletons.instantiate");
+                    try {
+                        finishBeanFactoryInitialization(beanFactory);
+                    }
+                    finally {
+                        instantiationStep.end();
+                    }
 
-            catch (BeansException ex) {
-                if (logger.isWarnEnabled()) {
-                    logger.warn("Exception encountered during context initialization - " +
-                            "cancelling refresh attempt: " + ex);
+                    // Last step: publish corresponding event.
+                    finishRefresh();
                 }
 
-                // Destroy already created singletons to avoid dangling resources.
-                destroyBeans();
+                catch (BeansException ex) {
+                    if (logger.isWarnEnabled()) {
+                        logger.warn("Exception encountered during context initialization - " +
+                                "cancelling refresh attempt: " + ex);
+                    }
 
-                // Reset 'active' flag.
-                cancelRefresh(ex);
+                    // Destroy already created singletons to avoid dangling resources.
+                    destroyBeans();
 
-                // Propagate exception to caller.
-                throw ex;
-            }
+                    // Reset 'active' flag.
+                    cancelRefresh(ex);
+
+                    // Propagate exception to caller.
+                    throw ex;
+                }
 
+                finally {
+                    // Reset common introspection caches in Spring's core, since we
+                    // might not ever need metadata for singleton beans anymore...
+                    resetCommonCaches();
+                }
+            }
             finally {
-                // Reset common introspection caches in Spring's core, since we
-                // might not ever need metadata for singleton beans anymore...
-                resetCommonCaches();
+                refreshStep.end();
             }
         }
     }
@@ -632,6 +678,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
     protected void prepareBeanFactory(ConfigurableListableBeanFactory beanFactory) {
         // Tell the internal bean factory to use the context's class loader etc.
         beanFactory.setBeanClassLoader(getClassLoader());
+        beanFactory.setApplicationStartup(getApplicationStartup());
         beanFactory.setBeanExpressionResolver(new StandardBeanExpressionResolver(beanFactory.getBeanClassLoader()));
         beanFactory.addPropertyEditorRegistrar(new ResourceEditorRegistrar(this, getEnvironment()));
 
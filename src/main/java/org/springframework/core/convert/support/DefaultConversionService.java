@@ -71,6 +71,7 @@ public class DefaultConversionService extends GenericConversionService {
                 cs = sharedInstance;
                 if (cs == null) {
                     cs = new DefaultConversionService();
+                    cs.freeze();
                     sharedInstance = cs;
                 }
             }
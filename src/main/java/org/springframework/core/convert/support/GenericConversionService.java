@@ -18,8 +18,10 @@ package org.springframework.core.convert.support;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -28,6 +30,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.core.CollectionFactory;
 import org.springframework.core.DecoratingProxy;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionException;
@@ -73,11 +76,21 @@ public class GenericConversionService implements ConfigurableConversionService {
      */
     private static final GenericConverter NO_MATCH = new NoOpConverter("NO_MATCH");
 
+    /**
+     * Used as a lookup table entry when the converter cannot be determined from
+     * the raw types alone. This converter is never returned.
+     */
+    private static final GenericConverter RESOLVE_BY_DESCRIPTOR = new NoOpConverter("RESOLVE_BY_DESCRIPTOR");
+
 
     private final Converters converters = new Converters();
 
     private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+    /** Converters keyed on raw source and target class, only present while frozen */
+    @Nullable
+    private volatile Map<ConvertiblePair, GenericConverter> rawConverterTable;
+
 
     // ConverterRegistry implementation
 
@@ -126,6 +139,32 @@ public class GenericConversionService implements ConfigurableConversionService {
         invalidateCache();
     }
 
+    /**
+     * Freeze the current converter configuration, enabling a lookup table keyed
+     * on raw source and target class as a fast path for all conversions to
+     * non-generic target types. The table is filled lazily for the source and
+     * target classes actually requested, rather than for the (possibly abstract)
+     * types that converters are registered for.
+     * <p>Lookups only go through the regular {@link TypeDescriptor}-based path for
+     * generic target types, for converters that implement {@link ConditionalConverter}
+     * and for conversions without registered converter. Converters can still be added
+     * or removed after freezing, reverting to regular lookups until frozen again.
+     * @since 1.0
+     * @see #isFrozen()
+     */
+    public void freeze() {
+        this.rawConverterTable = new ConcurrentReferenceHashMap<>(256);
+    }
+
+    /**
+     * Return whether this conversion service is currently frozen.
+     * @since 1.0
+     * @see #freeze()
+     */
+    public boolean isFrozen() {
+        return (this.rawConverterTable != null);
+    }
+
 
     // ConversionService implementation
 
@@ -212,6 +251,99 @@ public class GenericConversionService implements ConfigurableConversionService {
         return convert(source, TypeDescriptor.forObject(source), targetType);
     }
 
+    /**
+     * Convert all elements of the given source array to the given target element type.
+     * <p>In contrast to converting each element through {@link #convert(Object, TypeDescriptor,
+     * TypeDescriptor)}, the converter is only looked up again if the element class changes,
+     * i.e. once for a homogeneous array. Primitive target arrays are filled without
+     * reflection where the converted value matches the component type.
+     * @param sourceArray the source array (may be an array of primitives)
+     * @param targetElementType the element type of the array to create
+     * @return the converted array with a component type of {@code targetElementType}
+     * @throws ConversionException if a conversion exception occurred
+     * @throws IllegalArgumentException if the given source is not an array
+     * @since 1.0
+     */
+    public Object convertArray(Object sourceArray, TypeDescriptor targetElementType) {
+        Assert.isTrue(sourceArray.getClass().isArray(), "Source to convert from must be an array");
+        Assert.notNull(targetElementType, "Target element type to convert to cannot be null");
+        ElementConverter elementConverter = new ElementConverter(
+                TypeDescriptor.valueOf(sourceArray.getClass().getComponentType()), targetElementType);
+        int length = Array.getLength(sourceArray);
+        Object targetArray = Array.newInstance(targetElementType.getType(), length);
+        for (int i = 0; i < length; i++) {
+            Object sourceElement = (sourceArray instanceof Object[] ?
+                    ((Object[]) sourceArray)[i] : Array.get(sourceArray, i));
+            setArrayElement(targetArray, i, elementConverter.convert(sourceElement));
+        }
+        return targetArray;
+    }
+
+    /**
+     * Convert all elements of the given source collection into a new collection
+     * of the given target type, using the target element type, if any.
+     * <p>In contrast to converting each element through {@link #convert(Object, TypeDescriptor,
+     * TypeDescriptor)}, the converter is only looked up again if the element class changes,
+     * i.e. once for a homogeneous collection.
+     * @param source the source collection
+     * @param targetType the collection type to create, typically with a
+     * {@link TypeDescriptor#getElementTypeDescriptor() element type}
+     * @return the new collection with converted elements
+     * @throws ConversionException if a conversion exception occurred
+     * @since 1.0
+     * @see CollectionFactory#createCollection(Class, Class, int)
+     */
+    public Collection<Object> convertCollection(Collection<?> source, TypeDescriptor targetType) {
+        Assert.notNull(targetType, "Target type to convert to cannot be null");
+        TypeDescriptor targetElementType = targetType.getElementTypeDescriptor();
+        Collection<Object> target = CollectionFactory.createCollection(targetType.getType(),
+                (targetElementType != null ? targetElementType.getType() : null), source.size());
+        if (targetElementType == null) {
+            target.addAll(source);
+            return target;
+        }
+        ElementConverter elementConverter = new ElementConverter(null, targetElementType);
+        for (Object sourceElement : source) {
+            target.add(elementConverter.convert(sourceElement));
+        }
+        return target;
+    }
+
+    /**
+     * Return an iterator converting the elements of the given source iterator
+     * to the given target element type as they are requested.
+     * <p>The converter is only looked up again if the element class changes,
+     * i.e. once for a homogeneous source.
+     * @param source the source iterator
+     * @param sourceElementType the declared element type of the source, if known,
+     * to be narrowed to the class of each element
+     * @param targetElementType the element type to convert to
+     * @return the converting iterator, supporting {@link Iterator#remove()}
+     * if the source iterator does
+     * @since 1.0
+     */
+    public Iterator<Object> convertIterator(Iterator<?> source, @Nullable TypeDescriptor sourceElementType,
+                                            TypeDescriptor targetElementType) {
+
+        Assert.notNull(targetElementType, "Target element type to convert to cannot be null");
+        ElementConverter elementConverter = new ElementConverter(sourceElementType, targetElementType);
+        return new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+            @Override
+            @Nullable
+            public Object next() {
+                return elementConverter.convert(source.next());
+            }
+            @Override
+            public void remove() {
+                source.remove();
+            }
+        };
+    }
+
     @Override
     public String toString() {
         return this.converters.toString();
@@ -251,6 +383,19 @@ public class GenericConversionService implements ConfigurableConversionService {
      */
     @Nullable
     protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        Map<ConvertiblePair, GenericConverter> rawTable = this.rawConverterTable;
+        if (rawTable != null && targetType.getResolvableType().getType() instanceof Class) {
+            ConvertiblePair rawKey = new ConvertiblePair(sourceType.getType(), targetType.getType());
+            GenericConverter converter = rawTable.get(rawKey);
+            if (converter == null) {
+                converter = this.converters.findForRawTypes(sourceType.getType(), targetType.getType());
+                rawTable.put(rawKey, converter);
+            }
+            if (converter != RESOLVE_BY_DESCRIPTOR) {
+                return converter;
+            }
+        }
+
         ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
         GenericConverter converter = this.converterCache.get(key);
         if (converter != null) {
@@ -304,6 +449,7 @@ public class GenericConversionService implements ConfigurableConversionService {
 
     private void invalidateCache() {
         this.converterCache.clear();
+        this.rawConverterTable = null;
     }
 
     @Nullable
@@ -329,6 +475,27 @@ public class GenericConversionService implements ConfigurableConversionService {
         return result;
     }
 
+    private static void setArrayElement(Object array, int index, @Nullable Object value) {
+        if (array instanceof Object[]) {
+            ((Object[]) array)[index] = value;
+        }
+        else if (array instanceof int[] && value instanceof Integer) {
+            ((int[]) array)[index] = (Integer) value;
+        }
+        else if (array instanceof long[] && value instanceof Long) {
+            ((long[]) array)[index] = (Long) value;
+        }
+        else if (array instanceof double[] && value instanceof Double) {
+            ((double[]) array)[index] = (Double) value;
+        }
+        else if (array instanceof boolean[] && value instanceof Boolean) {
+            ((boolean[]) array)[index] = (Boolean) value;
+        }
+        else {
+            Array.set(array, index, value);
+        }
+    }
+
     private void assertNotPrimitiveTargetType(@Nullable TypeDescriptor sourceType, TypeDescriptor targetType) {
         if (targetType.isPrimitive()) {
             throw new ConversionFailedException(sourceType, targetType, null,
@@ -337,6 +504,62 @@ public class GenericConversionService implements ConfigurableConversionService {
     }
 
 
+    /**
+     * Converts the elements of a bulk conversion, holding on to the converter
+     * resolved for the class of the previous element.
+     */
+    private final class ElementConverter {
+
+        @Nullable
+        private final TypeDescriptor sourceElementType;
+
+        private final TypeDescriptor targetElementType;
+
+        @Nullable
+        private Class<?> lastElementClass;
+
+        @Nullable
+        private TypeDescriptor lastSourceType;
+
+        @Nullable
+        private GenericConverter lastConverter;
+
+        public ElementConverter(@Nullable TypeDescriptor sourceElementType, TypeDescriptor targetElementType) {
+            this.sourceElementType = sourceElementType;
+            this.targetElementType = targetElementType;
+        }
+
+        @Nullable
+        public Object convert(@Nullable Object sourceElement) {
+            if (sourceElement == null) {
+                return GenericConversionService.this.convert(null, this.sourceElementType, this.targetElementType);
+            }
+            Class<?> elementClass = sourceElement.getClass();
+            if (elementClass != this.lastElementClass) {
+                if (this.sourceElementType == null) {
+                    this.lastSourceType = TypeDescriptor.valueOf(elementClass);
+                }
+                else if (this.sourceElementType.getType() == elementClass) {
+                    this.lastSourceType = this.sourceElementType;
+                }
+                else {
+                    this.lastSourceType = this.sourceElementType.narrow(sourceElement);
+                }
+                this.lastConverter = getConverter(this.lastSourceType, this.targetElementType);
+                this.lastElementClass = elementClass;
+            }
+            TypeDescriptor sourceType = this.lastSourceType;
+            Assert.state(sourceType != null, "No source type resolved");
+            if (this.lastConverter == null) {
+                return handleConverterNotFound(sourceElement, sourceType, this.targetElementType);
+            }
+            Object result = ConversionUtils.invokeConverter(
+                    this.lastConverter, sourceElement, sourceType, this.targetElementType);
+            return handleResult(sourceType, this.targetElementType, result);
+        }
+    }
+
+
     /**
      * Adapts a {@link Converter} to a {@link GenericConverter}.
      */
@@ -360,6 +583,21 @@ public class GenericConversionService implements ConfigurableConversionService {
             return Collections.singleton(this.typeInfo);
         }
 
+        /**
+         * Perform the raw type check of {@link #matches} against the given target class.
+         */
+        boolean matchesTargetClass(Class<?> targetType) {
+            return (this.typeInfo.getTargetType() == ClassUtils.resolvePrimitiveIfNecessary(targetType));
+        }
+
+        /**
+         * Determine whether {@link #matches} depends on more than the raw target class
+         * for non-generic target types.
+         */
+        boolean isConditional() {
+            return (this.converter instanceof ConditionalConverter);
+        }
+
         @Override
         public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
             // Check raw type first...
@@ -412,6 +650,25 @@ public class GenericConversionService implements ConfigurableConversionService {
             return Collections.singleton(this.typeInfo);
         }
 
+        /**
+         * Determine whether {@link #matches} depends on more than the given raw target class.
+         * <p>Only to be called for target classes actually requested for conversion:
+         * factories may reject other target types (e.g. an abstract base type such as
+         * {@code Enum}) when asked for a converter, which is treated as conditional.
+         */
+        boolean isConditional(Class<?> targetType) {
+            if (this.converterFactory instanceof ConditionalConverter) {
+                return true;
+            }
+            try {
+                return (this.converterFactory.getConverter(targetType) instanceof ConditionalConverter);
+            }
+            catch (RuntimeException ex) {
+                // Factory cannot be classified for this target type -> fall back to descriptor-based matching
+                return true;
+            }
+        }
+
         @Override
         public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
             boolean matches = true;
@@ -531,6 +788,37 @@ public class GenericConversionService implements ConfigurableConversionService {
             this.converters.remove(new ConvertiblePair(sourceType, targetType));
         }
 
+        /**
+         * Find a {@link GenericConverter} given a raw source and target class,
+         * working through the class and interface hierarchy in the same order
+         * as {@link #find}.
+         * @param sourceType the raw source type
+         * @param targetType the raw, non-generic target type
+         * @return the converter that {@link #find} returns for any descriptors of
+         * the given types, or {@code RESOLVE_BY_DESCRIPTOR} if the result depends
+         * on a {@link ConditionalConverter} or no converter has been found
+         */
+        public GenericConverter findForRawTypes(Class<?> sourceType, Class<?> targetType) {
+            List<Class<?>> sourceCandidates = getClassHierarchy(sourceType);
+            List<Class<?>> targetCandidates = getClassHierarchy(targetType);
+            for (Class<?> sourceCandidate : sourceCandidates) {
+                for (Class<?> targetCandidate : targetCandidates) {
+                    ConvertersForPair convertersForPair =
+                            this.converters.get(new ConvertiblePair(sourceCandidate, targetCandidate));
+                    if (convertersForPair != null) {
+                        GenericConverter converter = convertersForPair.getConverter(targetType);
+                        if (converter != null) {
+                            return converter;
+                        }
+                    }
+                    if (!this.globalConverters.isEmpty()) {
+                        return RESOLVE_BY_DESCRIPTOR;
+                    }
+                }
+            }
+            return RESOLVE_BY_DESCRIPTOR;
+        }
+
         /**
          * Find a {@link GenericConverter} given a source and target type.
          * <p>This method will attempt to match all possible converters by working
@@ -673,6 +961,35 @@ public class GenericConversionService implements ConfigurableConversionService {
             return null;
         }
 
+        /**
+         * Return the converter matching the given raw, non-generic target type.
+         * @return the converter, {@code RESOLVE_BY_DESCRIPTOR} if the match depends
+         * on a {@link ConditionalConverter}, or {@code null} if none matches
+         */
+        @Nullable
+        public GenericConverter getConverter(Class<?> targetType) {
+            for (GenericConverter converter : this.converters) {
+                if (!(converter instanceof ConditionalGenericConverter)) {
+                    return converter;
+                }
+                if (converter instanceof ConverterAdapter) {
+                    ConverterAdapter adapter = (ConverterAdapter) converter;
+                    if (!adapter.matchesTargetClass(targetType)) {
+                        continue;
+                    }
+                    if (!adapter.isConditional()) {
+                        return converter;
+                    }
+                }
+                else if (converter instanceof ConverterFactoryAdapter &&
+                        !((ConverterFactoryAdapter) converter).isConditional(targetType)) {
+                    return converter;
+                }
+                return RESOLVE_BY_DESCRIPTOR;
+            }
+            return null;
+        }
+
         @Override
         public String toString() {
             return StringUtils.collectionToCommaDelimitedString(this.converters);
@@ -433,6 +433,11 @@ public abstract class AbstractEnvironment implements ConfigurableEnvironment {
         this.propertyResolver.setIgnoreUnresolvableNestedPlaceholders(ignoreUnresolvableNestedPlaceholders);
     }
 
+    @Override
+    public void setCacheResolvedPlaceholders(boolean cacheResolvedPlaceholders) {
+        this.propertyResolver.setCacheResolvedPlaceholders(cacheResolvedPlaceholders);
+    }
+
     @Override
     public void setRequiredProperties(String... requiredProperties) {
         this.propertyResolver.setRequiredProperties(requiredProperties);
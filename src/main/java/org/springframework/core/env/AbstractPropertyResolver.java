@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,9 @@
 package org.springframework.core.env;
 
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -40,6 +42,10 @@ import org.springframework.util.SystemPropertyUtils;
  */
 public abstract class AbstractPropertyResolver implements ConfigurablePropertyResolver {
 
+    /** Maximum number of resolved texts to cache per properties snapshot */
+    private static final int RESOLVED_PLACEHOLDERS_CACHE_LIMIT = 1024;
+
+
     protected final Log logger = LogFactory.getLog(getClass());
 
     @Nullable
@@ -53,6 +59,8 @@ public abstract class AbstractPropertyResolver implements ConfigurablePropertyRe
 
     private boolean ignoreUnresolvableNestedPlaceholders = false;
 
+    private volatile boolean cacheResolvedPlaceholders = false;
+
     private String placeholderPrefix = SystemPropertyUtils.PLACEHOLDER_PREFIX;
 
     private String placeholderSuffix = SystemPropertyUtils.PLACEHOLDER_SUFFIX;
@@ -62,6 +70,9 @@ public abstract class AbstractPropertyResolver implements ConfigurablePropertyRe
 
     private final Set<String> requiredProperties = new LinkedHashSet<>();
 
+    @Nullable
+    private volatile ResolvedPlaceholders resolvedPlaceholders;
+
 
     @Override
     public ConfigurableConversionService getConversionService() {
@@ -134,6 +145,24 @@ public abstract class AbstractPropertyResolver implements ConfigurablePropertyRe
         this.ignoreUnresolvableNestedPlaceholders = ignoreUnresolvableNestedPlaceholders;
     }
 
+    /**
+     * Set whether to cache the results of {@link #resolvePlaceholders} and
+     * {@link #resolveRequiredPlaceholders}, up to 1024 texts each, for as long
+     * as the same {@linkplain #getPropertiesSnapshot() properties snapshot} applies.
+     * <p>The default is {@code false}. Without a properties snapshot, e.g. for a
+     * {@link PropertySourcesPropertyResolver} on a non-indexed {@link MutablePropertySources}
+     * container, placeholders are resolved on every call regardless of this flag.
+     * @since 1.0
+     * @see MutablePropertySources#setIndexed
+     */
+    @Override
+    public void setCacheResolvedPlaceholders(boolean cacheResolvedPlaceholders) {
+        this.cacheResolvedPlaceholders = cacheResolvedPlaceholders;
+        if (!cacheResolvedPlaceholders) {
+            this.resolvedPlaceholders = null;
+        }
+    }
+
     @Override
     public void setRequiredProperties(String... requiredProperties) {
         for (String key : requiredProperties) {
@@ -200,7 +229,7 @@ public abstract class AbstractPropertyResolver implements ConfigurablePropertyRe
         if (this.nonStrictHelper == null) {
             this.nonStrictHelper = createPlaceholderHelper(true);
         }
-        return doResolvePlaceholders(text, this.nonStrictHelper);
+        return doResolvePlaceholders(text, this.nonStrictHelper, false);
     }
 
     @Override
@@ -208,7 +237,7 @@ public abstract class AbstractPropertyResolver implements ConfigurablePropertyRe
         if (this.strictHelper == null) {
             this.strictHelper = createPlaceholderHelper(false);
         }
-        return doResolvePlaceholders(text, this.strictHelper);
+        return doResolvePlaceholders(text, this.strictHelper, true);
     }
 
     /**
@@ -233,8 +262,41 @@ public abstract class AbstractPropertyResolver implements ConfigurablePropertyRe
                 this.valueSeparator, ignoreUnresolvablePlaceholders);
     }
 
-    private String doResolvePlaceholders(String text, PropertyPlaceholderHelper helper) {
-        return helper.replacePlaceholders(text, this::getPropertyAsRawString);
+    private String doResolvePlaceholders(String text, PropertyPlaceholderHelper helper, boolean strict) {
+        Object snapshot = (this.cacheResolvedPlaceholders ? getPropertiesSnapshot() : null);
+        if (snapshot == null) {
+            return helper.replacePlaceholders(text, this::getPropertyAsRawString);
+        }
+        ResolvedPlaceholders resolved = this.resolvedPlaceholders;
+        if (resolved == null || resolved.snapshot != snapshot) {
+            resolved = new ResolvedPlaceholders(snapshot);
+            this.resolvedPlaceholders = resolved;
+        }
+        Map<String, String> cache = (strict ? resolved.strict : resolved.nonStrict);
+        String result = cache.get(text);
+        if (result == null) {
+            result = helper.replacePlaceholders(text, this::getPropertyAsRawString);
+            if (cache.size() < RESOLVED_PLACEHOLDERS_CACHE_LIMIT) {
+                cache.put(text, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return a token identifying the current state of the underlying properties,
+     * or {@code null} if no such state is being tracked (the default).
+     * <p>A non-null token allows for caching of resolved placeholders, if
+     * {@linkplain #setCacheResolvedPlaceholders enabled}, for as long as the
+     * same token object is being returned. Implementations need to return
+     * a new token whenever the outcome of placeholder resolution may have changed.
+     * @since 1.0
+     * @see #resolvePlaceholders
+     * @see #resolveRequiredPlaceholders
+     */
+    @Nullable
+    protected Object getPropertiesSnapshot() {
+        return null;
     }
 
     /**
@@ -273,4 +335,21 @@ public abstract class AbstractPropertyResolver implements ConfigurablePropertyRe
     @Nullable
     protected abstract String getPropertyAsRawString(String key);
 
+
+    /**
+     * Resolved texts for a specific properties snapshot.
+     */
+    private static final class ResolvedPlaceholders {
+
+        final Object snapshot;
+
+        final Map<String, String> nonStrict = new ConcurrentHashMap<>(64);
+
+        final Map<String, String> strict = new ConcurrentHashMap<>(64);
+
+        ResolvedPlaceholders(Object snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
 }
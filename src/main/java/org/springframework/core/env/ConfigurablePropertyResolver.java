@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -87,6 +87,20 @@ public interface ConfigurablePropertyResolver extends PropertyResolver {
      */
     void setIgnoreUnresolvableNestedPlaceholders(boolean ignoreUnresolvableNestedPlaceholders);
 
+    /**
+     * Set whether to cache the results of {@link #resolvePlaceholders} and
+     * {@link #resolveRequiredPlaceholders} for as long as the underlying
+     * properties remain unchanged.
+     * <p>Implementations may only cache if they are able to track changes of the
+     * underlying properties, e.g. through an {@linkplain MutablePropertySources#setIndexed
+     * indexed} {@link MutablePropertySources} container.
+     * <p>The default implementation does nothing, i.e. placeholders are resolved
+     * on every call.
+     * @since 1.0
+     */
+    default void setCacheResolvedPlaceholders(boolean cacheResolvedPlaceholders) {
+    }
+
     /**
      * Specify which properties must be present, to be verified by
      * {@link #validateRequiredProperties()}.
@@ -31,6 +31,9 @@ public class MutablePropertySources implements PropertySources {
 
     private final List<PropertySource<?>> propertySourceList = new CopyOnWriteArrayList<>();
 
+    @Nullable
+    private volatile PropertySourcesIndex index;
+
 
     /**
      * Create a new {@link MutablePropertySources} object.
@@ -84,8 +87,18 @@ public class MutablePropertySources implements PropertySources {
         if (logger.isDebugEnabled()) {
             logger.debug("Adding PropertySource '" + propertySource.getName() + "' with highest search precedence");
         }
+        PropertySource<?> existing = getExistingForIndex(propertySource);
         removeIfPresent(propertySource);
         this.propertySourceList.add(0, propertySource);
+        PropertySourcesIndex index = this.index;
+        if (index != null) {
+            if (existing == null || existing == propertySource) {
+                index.addedFirst(propertySource);
+            }
+            else {
+                reindex(propertySource, existing);
+            }
+        }
     }
 
     /**
@@ -95,8 +108,18 @@ public class MutablePropertySources implements PropertySources {
         if (logger.isDebugEnabled()) {
             logger.debug("Adding PropertySource '" + propertySource.getName() + "' with lowest search precedence");
         }
+        PropertySource<?> existing = getExistingForIndex(propertySource);
         removeIfPresent(propertySource);
         this.propertySourceList.add(propertySource);
+        PropertySourcesIndex index = this.index;
+        if (index != null) {
+            if (existing == null) {
+                index.addedLast(propertySource);
+            }
+            else {
+                reindex(propertySource, existing);
+            }
+        }
     }
 
     /**
@@ -109,9 +132,11 @@ public class MutablePropertySources implements PropertySources {
                     "' with search precedence immediately higher than '" + relativePropertySourceName + "'");
         }
         assertLegalRelativeAddition(relativePropertySourceName, propertySource);
+        PropertySource<?> existing = getExistingForIndex(propertySource);
         removeIfPresent(propertySource);
         int index = assertPresentAndGetIndex(relativePropertySourceName);
         addAtIndex(index, propertySource);
+        reindex(propertySource, existing);
     }
 
     /**
@@ -124,9 +149,11 @@ public class MutablePropertySources implements PropertySources {
                     "' with search precedence immediately lower than '" + relativePropertySourceName + "'");
         }
         assertLegalRelativeAddition(relativePropertySourceName, propertySource);
+        PropertySource<?> existing = getExistingForIndex(propertySource);
         removeIfPresent(propertySource);
         int index = assertPresentAndGetIndex(relativePropertySourceName);
         addAtIndex(index + 1, propertySource);
+        reindex(propertySource, existing);
     }
 
     /**
@@ -146,7 +173,12 @@ public class MutablePropertySources implements PropertySources {
             logger.debug("Removing PropertySource '" + name + "'");
         }
         int index = this.propertySourceList.indexOf(PropertySource.named(name));
-        return (index != -1 ? this.propertySourceList.remove(index) : null);
+        if (index == -1) {
+            return null;
+        }
+        PropertySource<?> removed = this.propertySourceList.remove(index);
+        reindex(removed, null);
+        return removed;
     }
 
     /**
@@ -161,7 +193,53 @@ public class MutablePropertySources implements PropertySources {
             logger.debug("Replacing PropertySource '" + name + "' with '" + propertySource.getName() + "'");
         }
         int index = assertPresentAndGetIndex(name);
-        this.propertySourceList.set(index, propertySource);
+        PropertySource<?> replaced = this.propertySourceList.set(index, propertySource);
+        reindex(propertySource, replaced);
+    }
+
+    /**
+     * Specify whether to maintain an index from property name to the property source
+     * of highest precedence containing it, allowing {@link PropertySourcesPropertyResolver}
+     * to skip all indexed property sources that do not contain a requested property.
+     * Default is "false".
+     * <p>{@link MapPropertySource} instances are indexed by the keys of their maps when
+     * they get added, incrementally updating the index on each change of this container.
+     * System environment and non-enumerable property sources are still probed on
+     * each lookup. Keys added to an indexed map afterwards are not visible through the
+     * index; setting this flag to "true" again rebuilds the index for the current keys.
+     * <p>While indexed, {@link PropertySourcesPropertyResolver} may also cache resolved
+     * placeholders until the next change of this container, if explicitly enabled through
+     * {@link ConfigurablePropertyResolver#setCacheResolvedPlaceholders}. This assumes that
+     * the values of the contained property sources do not change in the meantime either.
+     * @since 1.0
+     * @see PropertySourcesPropertyResolver#getProperty(String)
+     */
+    public void setIndexed(boolean indexed) {
+        if (indexed) {
+            PropertySourcesIndex index = new PropertySourcesIndex();
+            index.rebuild(this.propertySourceList);
+            this.index = index;
+        }
+        else {
+            this.index = null;
+        }
+    }
+
+    /**
+     * Return whether an index of property names is being maintained.
+     * @since 1.0
+     * @see #setIndexed
+     */
+    public boolean isIndexed() {
+        return (this.index != null);
+    }
+
+    /**
+     * Return the index of property names, if maintained.
+     */
+    @Nullable
+    PropertySourcesIndex getIndex() {
+        return this.index;
     }
 
     /**
@@ -202,6 +280,32 @@ public class MutablePropertySources implements PropertySources {
         this.propertySourceList.add(index, propertySource);
     }
 
+    /**
+     * Return the currently contained property source with the same name as the
+     * given property source, if any, as long as an index is being maintained.
+     */
+    @Nullable
+    private PropertySource<?> getExistingForIndex(PropertySource<?> propertySource) {
+        return (this.index != null ? get(propertySource.getName()) : null);
+    }
+
+    /**
+     * Update the index of property names, if any, after a change of the given
+     * property source's position.
+     * @param propertySource the property source that has been added, moved or removed
+     * @param previous the property source previously registered under the same name,
+     * or {@code null} if none
+     */
+    private void reindex(PropertySource<?> propertySource, @Nullable PropertySource<?> previous) {
+        PropertySourcesIndex index = this.index;
+        if (index != null) {
+            index.changed(propertySource, this.propertySourceList);
+            if (previous != null && previous != propertySource) {
+                index.changed(previous, this.propertySourceList);
+            }
+        }
+    }
+
     /**
      * Assert that the named property source is present and return its index.
      * @param name {@linkplain PropertySource#getName() name of the property source} to find
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.env;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Index from property name to the indexed {@link PropertySource} of highest
+ * precedence containing it, maintained by {@link MutablePropertySources}.
+ *
+ * <p>Only plain {@link MapPropertySource} instances are indexed, by the keys of
+ * their maps at the time of indexing. {@link SystemEnvironmentPropertySource}
+ * instances resolve variants of a given name and therefore need to be probed
+ * on each lookup, just like any non-enumerable property source.
+ *
+ * @since 1.0
+ * @see MutablePropertySources#setIndexed
+ */
+final class PropertySourcesIndex {
+
+    /** Indexed property source of highest precedence per property name */
+    private final Map<String, PropertySource<?>> propertySources = new ConcurrentHashMap<>(256);
+
+    /** Replaced on every change of this index */
+    private volatile Object snapshot = new Object();
+
+
+    /**
+     * Determine whether the given property source is covered by this index.
+     */
+    public boolean isIndexed(PropertySource<?> propertySource) {
+        return (propertySource instanceof MapPropertySource &&
+                !(propertySource instanceof SystemEnvironmentPropertySource));
+    }
+
+    /**
+     * Return the indexed property source of highest precedence that contains
+     * the given property, if any.
+     */
+    @Nullable
+    public PropertySource<?> getPropertySource(String name) {
+        return this.propertySources.get(name);
+    }
+
+    /**
+     * Return a token that identifies the current arrangement of property sources:
+     * a new token object is created on every update of this index, including
+     * updates for property sources that are not indexed themselves.
+     */
+    public Object getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Rebuild this index from scratch.
+     * @param orderedSources all property sources, in order of precedence
+     */
+    public synchronized void rebuild(Iterable<PropertySource<?>> orderedSources) {
+        this.propertySources.clear();
+        for (PropertySource<?> propertySource : orderedSources) {
+            if (isIndexed(propertySource)) {
+                for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                    this.propertySources.putIfAbsent(name, propertySource);
+                }
+            }
+        }
+        this.snapshot = new Object();
+    }
+
+    /**
+     * Update this index for a property source that has just been added
+     * with highest precedence.
+     */
+    public synchronized void addedFirst(PropertySource<?> propertySource) {
+        if (isIndexed(propertySource)) {
+            for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                this.propertySources.put(name, propertySource);
+            }
+        }
+        this.snapshot = new Object();
+    }
+
+    /**
+     * Update this index for a property source that has just been added
+     * with lowest precedence, not having been present before.
+     */
+    public synchronized void addedLast(PropertySource<?> propertySource) {
+        if (isIndexed(propertySource)) {
+            for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                this.propertySources.putIfAbsent(name, propertySource);
+            }
+        }
+        this.snapshot = new Object();
+    }
+
+    /**
+     * Update this index for the properties of a property source that has been
+     * added at any position, moved or removed.
+     * @param propertySource the affected property source
+     * @param orderedSources all property sources after the change, in order of precedence
+     */
+    public synchronized void changed(PropertySource<?> propertySource, Iterable<PropertySource<?>> orderedSources) {
+        if (isIndexed(propertySource)) {
+            for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                reindex(name, orderedSources);
+            }
+        }
+        this.snapshot = new Object();
+    }
+
+    private void reindex(String name, Iterable<PropertySource<?>> orderedSources) {
+        for (PropertySource<?> propertySource : orderedSources) {
+            if (isIndexed(propertySource) && propertySource.containsProperty(name)) {
+                this.propertySources.put(name, propertySource);
+                return;
+            }
+        }
+        this.propertySources.remove(name);
+    }
+
+}
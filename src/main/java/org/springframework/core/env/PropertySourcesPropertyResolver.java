@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -47,7 +47,14 @@ public class PropertySourcesPropertyResolver extends org.springframework.core.en
     @Override
     public boolean containsProperty(String key) {
         if (this.propertySources != null) {
+            PropertySourcesIndex index = getIndex();
+            if (index != null && index.getPropertySource(key) != null) {
+                return true;
+            }
             for (PropertySource<?> propertySource : this.propertySources) {
+                if (index != null && index.isIndexed(propertySource)) {
+                    continue;
+                }
                 if (propertySource.containsProperty(key)) {
                     return true;
                 }
@@ -77,6 +84,29 @@ public class PropertySourcesPropertyResolver extends org.springframework.core.en
     @Nullable
     protected <T> T getProperty(String key, Class<T> targetValueType, boolean resolveNestedPlaceholders) {
         if (this.propertySources != null) {
+            PropertySourcesIndex index = getIndex();
+            if (index != null) {
+                PropertySource<?> indexedSource = index.getPropertySource(key);
+                for (PropertySource<?> propertySource : this.propertySources) {
+                    if (propertySource != indexedSource && index.isIndexed(propertySource)) {
+                        continue;
+                    }
+                    Object value = propertySource.getProperty(key);
+                    if (value != null) {
+                        return convertFoundValue(key, propertySource, value, targetValueType, resolveNestedPlaceholders);
+                    }
+                    if (propertySource == indexedSource) {
+                        // Property removed from its indexed source: search all sources below.
+                        break;
+                    }
+                }
+                if (indexedSource == null) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Could not find key '" + key + "' in any property source");
+                    }
+                    return null;
+                }
+            }
             for (PropertySource<?> propertySource : this.propertySources) {
                 if (logger.isTraceEnabled()) {
                     logger.trace("Searching for key '" + key + "' in PropertySource '" +
@@ -84,11 +114,7 @@ public class PropertySourcesPropertyResolver extends org.springframework.core.en
                 }
                 Object value = propertySource.getProperty(key);
                 if (value != null) {
-                    if (resolveNestedPlaceholders && value instanceof String) {
-                        value = resolveNestedPlaceholders((String) value);
-                    }
-                    logKeyFound(key, propertySource, value);
-                    return convertValueIfNecessary(value, targetValueType);
+                    return convertFoundValue(key, propertySource, value, targetValueType, resolveNestedPlaceholders);
                 }
             }
         }
@@ -98,6 +124,35 @@ public class PropertySourcesPropertyResolver extends org.springframework.core.en
         return null;
     }
 
+    @Nullable
+    private <T> T convertFoundValue(String key, PropertySource<?> propertySource, Object value,
+                                   Class<T> targetValueType, boolean resolveNestedPlaceholders) {
+
+        if (resolveNestedPlaceholders && value instanceof String) {
+            value = resolveNestedPlaceholders((String) value);
+        }
+        logKeyFound(key, propertySource, value);
+        return convertValueIfNecessary(value, targetValueType);
+    }
+
+    /**
+     * This implementation returns the snapshot token of the property name index,
+     * if maintained by the underlying {@link MutablePropertySources}.
+     * @see MutablePropertySources#setIndexed
+     */
+    @Override
+    @Nullable
+    protected Object getPropertiesSnapshot() {
+        PropertySourcesIndex index = getIndex();
+        return (index != null ? index.getSnapshot() : null);
+    }
+
+    @Nullable
+    private PropertySourcesIndex getIndex() {
+        return (this.propertySources instanceof MutablePropertySources ?
+                ((MutablePropertySources) this.propertySources).getIndex() : null);
+    }
+
     /**
      * Log the given key as found in the given {@link PropertySource}, resulting in
      * the given value.
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.support;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Index of the entry names of a jar file, read from its central directory once
+ * and then searched by path prefix, used by {@link PathMatchingResourcePatternResolver}
+ * to avoid iterating over all entries of the same jar file for every pattern.
+ *
+ * <p>The entry names are kept in their original order, together with a permutation
+ * sorting them by name. A prefix lookup is a binary search on the sorted view; the
+ * matching names are returned in original jar order, as with a plain iteration over
+ * the jar entries.
+ *
+ * @since 1.0
+ * @see PathMatchingResourcePatternResolver#doFindPathMatchingJarResources
+ */
+final class JarEntryIndex {
+
+    /** Entry names in jar order */
+    private final String[] entryNames;
+
+    /** Positions in {@link #entryNames}, sorted by entry name */
+    private final int[] sortedPositions;
+
+    /** Timestamp of the jar file when this index was built, or 0 if unknown */
+    private final long lastModified;
+
+
+    private JarEntryIndex(String[] entryNames, int[] sortedPositions, long lastModified) {
+        this.entryNames = entryNames;
+        this.sortedPositions = sortedPositions;
+        this.lastModified = lastModified;
+    }
+
+
+    /**
+     * Return whether this index still reflects the given jar file,
+     * i.e. whether the jar file has not been modified since.
+     * @param jarFile the jar file to check
+     */
+    public boolean isUpToDate(JarFile jarFile) {
+        return (this.lastModified == getLastModified(jarFile));
+    }
+
+    /**
+     * Return the names of all entries starting with the given prefix, in jar order.
+     * @param prefix the entry path prefix (may be empty for all entries)
+     * @return the matching entry names
+     */
+    public List<String> getEntryNames(String prefix) {
+        int from = findFirstSortedPosition(prefix);
+        int to = from;
+        while (to < this.sortedPositions.length && this.entryNames[this.sortedPositions[to]].startsWith(prefix)) {
+            to++;
+        }
+        int[] positions = Arrays.copyOfRange(this.sortedPositions, from, to);
+        Arrays.sort(positions);
+        List<String> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(this.entryNames[position]);
+        }
+        return result;
+    }
+
+    private int findFirstSortedPosition(String prefix) {
+        int low = 0;
+        int high = this.sortedPositions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.entryNames[this.sortedPositions[mid]].compareTo(prefix) < 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+
+    /**
+     * Build an index for the given jar file, iterating over its entries once.
+     * @param jarFile the jar file to index
+     * @return the new index
+     */
+    public static JarEntryIndex of(JarFile jarFile) {
+        long lastModified = getLastModified(jarFile);
+        List<String> names = new ArrayList<>(Math.max(jarFile.size(), 16));
+        for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+            names.add(entries.nextElement().getName());
+        }
+        String[] entryNames = names.toArray(new String[0]);
+        Integer[] order = new Integer[entryNames.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> entryNames[i1].compareTo(entryNames[i2]));
+        int[] sortedPositions = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedPositions[i] = order[i];
+        }
+        return new JarEntryIndex(entryNames, sortedPositions, lastModified);
+    }
+
+    private static long getLastModified(JarFile jarFile) {
+        return new File(jarFile.getName()).lastModified();
+    }
+
+}
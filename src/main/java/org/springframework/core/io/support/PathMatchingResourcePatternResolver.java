@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -642,14 +643,10 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
                 rootEntryPath = rootEntryPath + "/";
             }
             Set<Resource> result = new LinkedHashSet<>(8);
-            for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
-                JarEntry entry = entries.nextElement();
-                String entryPath = entry.getName();
-                if (entryPath.startsWith(rootEntryPath)) {
-                    String relativePath = entryPath.substring(rootEntryPath.length());
-                    if (getPathMatcher().match(subPattern, relativePath)) {
-                        result.add(rootDirResource.createRelative(relativePath));
-                    }
+            for (String entryPath : getJarEntryIndex(jarFile, jarFileUrl).getEntryNames(rootEntryPath)) {
+                String relativePath = entryPath.substring(rootEntryPath.length());
+                if (getPathMatcher().match(subPattern, relativePath)) {
+                    result.add(rootDirResource.createRelative(relativePath));
                 }
             }
             return result;
@@ -661,6 +658,32 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
         }
     }
 
+    /**
+     * Obtain the entry index for the given jar file, reading its central directory
+     * only if no up-to-date index is cached yet.
+     * <p>The index is cached in the {@link DefaultResourceLoader#getResourceCache
+     * resource cache} of the underlying ResourceLoader if it is a DefaultResourceLoader,
+     * sharing it across all pattern resolutions (e.g. for component scanning,
+     * factories loading and {@code @ImportResource} patterns) until the cache is
+     * cleared, which an application context does at the end of each refresh.
+     * Otherwise, the index is built for a single pattern resolution only.
+     */
+    private JarEntryIndex getJarEntryIndex(JarFile jarFile, String jarFileUrl) throws IOException {
+        if (!(this.resourceLoader instanceof DefaultResourceLoader)) {
+            return JarEntryIndex.of(jarFile);
+        }
+        Map<Resource, JarEntryIndex> cache =
+                ((DefaultResourceLoader) this.resourceLoader).getResourceCache(JarEntryIndex.class);
+        Resource jarResource = (ResourceUtils.isUrl(jarFileUrl) ?
+                new UrlResource(jarFileUrl) : new FileSystemResource(jarFileUrl));
+        JarEntryIndex index = cache.get(jarResource);
+        if (index == null || !index.isUpToDate(jarFile)) {
+            index = JarEntryIndex.of(jarFile);
+            cache.put(jarResource, index);
+        }
+        return index;
+    }
+
     /**
      * Resolve the given jar file URL into a JarFile object.
      */
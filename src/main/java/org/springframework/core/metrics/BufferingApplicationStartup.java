@@ -0,0 +1,332 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that keeps the most recently ended
+ * steps in memory, in a ring buffer of fixed capacity.
+ *
+ * <p>Steps are nested per thread: a step started while another step is active
+ * on the same thread becomes a child of that step. Each recorded step knows its
+ * full path of ancestor steps as well as its own time, excluding the time spent
+ * in its children, which allows for rendering the recorded timeline as a flame
+ * graph through {@link #writeCollapsedStacks(Writer)}.
+ *
+ * <p>Once the buffer is full, each newly ended step overwrites the oldest one.
+ *
+ * @since 1.0
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+    /** Default number of steps to keep: 8192 */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+
+    private final AtomicReferenceArray<TimedStep> buffer;
+
+    private final AtomicLong recordedCount = new AtomicLong();
+
+    private final AtomicLong idGenerator = new AtomicLong();
+
+    private final ThreadLocal<TimedStep> currentStep = new NamedThreadLocal<>("Current startup step");
+
+
+    /**
+     * Create a new BufferingApplicationStartup with the default capacity.
+     * @see #DEFAULT_CAPACITY
+     */
+    public BufferingApplicationStartup() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new BufferingApplicationStartup with the given capacity.
+     * @param capacity the maximum number of ended steps to keep
+     */
+    public BufferingApplicationStartup(int capacity) {
+        Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+
+    @Override
+    public StartupStep start(String name) {
+        TimedStep parent = this.currentStep.get();
+        TimedStep step = new TimedStep(this.idGenerator.incrementAndGet(), name, parent);
+        this.currentStep.set(step);
+        return step;
+    }
+
+    private void record(TimedStep step) {
+        // Pop the ended step, along with any nested steps that were never ended.
+        for (TimedStep current = this.currentStep.get(); current != null; current = current.parent) {
+            if (current == step) {
+                if (step.parent != null) {
+                    this.currentStep.set(step.parent);
+                }
+                else {
+                    this.currentStep.remove();
+                }
+                break;
+            }
+        }
+        long index = this.recordedCount.getAndIncrement();
+        this.buffer.set((int) (index % this.buffer.length()), step);
+    }
+
+    /**
+     * Return the number of ended steps that got overwritten in the buffer
+     * by more recent steps.
+     */
+    public long getOverwrittenCount() {
+        return Math.max(0, this.recordedCount.get() - this.buffer.length());
+    }
+
+    /**
+     * Return the steps currently held in the buffer, in the order of their end.
+     */
+    public List<TimedStep> getTimeline() {
+        long recorded = this.recordedCount.get();
+        long first = Math.max(0, recorded - this.buffer.length());
+        List<TimedStep> timeline = new ArrayList<>((int) (recorded - first));
+        for (long index = first; index < recorded; index++) {
+            TimedStep step = this.buffer.get((int) (index % this.buffer.length()));
+            if (step != null) {
+                timeline.add(step);
+            }
+        }
+        return timeline;
+    }
+
+    /**
+     * Write the steps currently held in the buffer in "collapsed stacks" format:
+     * one line per distinct step path, with the frames separated by semicolons,
+     * followed by the aggregated own time of those steps in microseconds.
+     * <p>This format can be rendered directly by common flame graph tools.
+     * @param writer the Writer to write the report to
+     * @throws IOException in case of I/O errors
+     */
+    public void writeCollapsedStacks(Writer writer) throws IOException {
+        Map<String, Long> selfTimeByPath = new LinkedHashMap<>();
+        for (TimedStep step : getTimeline()) {
+            selfTimeByPath.merge(step.getPath(), step.getSelfTime(TimeUnit.MICROSECONDS), Long::sum);
+        }
+        for (Map.Entry<String, Long> entry : selfTimeByPath.entrySet()) {
+            writer.write(entry.getKey());
+            writer.write(' ');
+            writer.write(Long.toString(entry.getValue()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Return the steps currently held in the buffer in "collapsed stacks" format.
+     * @see #writeCollapsedStacks(Writer)
+     */
+    public String getCollapsedStacksReport() {
+        StringWriter writer = new StringWriter();
+        try {
+            writeCollapsedStacks(writer);
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return writer.toString();
+    }
+
+
+    /**
+     * {@link StartupStep} recorded by a {@link BufferingApplicationStartup},
+     * exposing its timing once ended.
+     */
+    public final class TimedStep implements StartupStep {
+
+        private final long id;
+
+        private final String name;
+
+        @Nullable
+        private final TimedStep parent;
+
+        private final long startTime = System.nanoTime();
+
+        private final List<Tag> tags = new ArrayList<>(2);
+
+        private volatile long duration = -1;
+
+        /** Accumulated duration of ended child steps, only modified by the owning thread */
+        private volatile long childDuration;
+
+        @Nullable
+        private volatile String path;
+
+        TimedStep(long id, String name, @Nullable TimedStep parent) {
+            this.id = id;
+            this.name = name;
+            this.parent = parent;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public long getId() {
+            return this.id;
+        }
+
+        @Override
+        @Nullable
+        public Long getParentId() {
+            return (this.parent != null ? this.parent.id : null);
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            Assert.state(this.duration < 0, "StartupStep has already ended");
+            this.tags.add(new DefaultTag(key, value));
+            return this;
+        }
+
+        @Override
+        public StartupStep tag(String key, Supplier<String> value) {
+            return tag(key, value.get());
+        }
+
+        @Override
+        public Iterable<Tag> getTags() {
+            return Collections.unmodifiableList(this.tags);
+        }
+
+        @Override
+        public void end() {
+            Assert.state(this.duration < 0, "StartupStep has already ended");
+            this.duration = System.nanoTime() - this.startTime;
+            if (this.parent != null) {
+                this.parent.childDuration += this.duration;
+            }
+            record(this);
+        }
+
+        /**
+         * Return the start time of this step, as {@link System#nanoTime()} value.
+         */
+        public long getStartTime() {
+            return this.startTime;
+        }
+
+        /**
+         * Return the total time of this step, including its children.
+         * @param unit the time unit to return the duration in
+         */
+        public long getDuration(TimeUnit unit) {
+            return unit.convert(Math.max(this.duration, 0), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Return the own time of this step, excluding its ended children.
+         * @param unit the time unit to return the duration in
+         */
+        public long getSelfTime(TimeUnit unit) {
+            return unit.convert(Math.max(this.duration - this.childDuration, 0), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Return the frames from the outermost ancestor step down to this step,
+         * separated by semicolons. Each frame consists of the step name followed
+         * by its tag values in brackets, if any.
+         */
+        public String getPath() {
+            String path = this.path;
+            if (path == null) {
+                String frame = getFrame();
+                path = (this.parent != null ? this.parent.getPath() + ";" + frame : frame);
+                if (this.duration >= 0) {
+                    this.path = path;
+                }
+            }
+            return path;
+        }
+
+        private String getFrame() {
+            if (this.tags.isEmpty()) {
+                return this.name;
+            }
+            StringBuilder frame = new StringBuilder(this.name).append('[');
+            for (int i = 0; i < this.tags.size(); i++) {
+                if (i > 0) {
+                    frame.append(',');
+                }
+                frame.append(this.tags.get(i).getValue().replace(';', ','));
+            }
+            return frame.append(']').toString();
+        }
+
+        @Override
+        public String toString() {
+            return getPath() + " (" + getDuration(TimeUnit.MICROSECONDS) + "us)";
+        }
+    }
+
+
+    private static class DefaultTag implements StartupStep.Tag {
+
+        private final String key;
+
+        private final String value;
+
+        DefaultTag(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return this.key;
+        }
+
+        @Override
+        public String getValue() {
+            return this.value;
+        }
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.value;
+        }
+    }
+
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * Lightweight reader for the class-level annotation types declared in a class file,
+ * for use as a pre-filter stage before reading full ASM-based class metadata.
+ *
+ * <p>Only the constant pool offsets are determined; the only constant pool
+ * entries that are actually decoded are the attribute names of the class itself
+ * and the descriptors of its annotation types. Fields and methods are skipped
+ * without inspecting their content, and no visitor or metadata structures are
+ * created. For most classes without any annotations of interest, this allows for
+ * rejecting them at a fraction of the cost of a {@link MetadataReader}.
+ *
+ * <p>The annotation types returned are only the ones declared on the class
+ * itself (runtime-visible as well as class-retained), without any meta-annotations
+ * and without annotations inherited from superclasses or interfaces.
+ *
+ * @since 1.0
+ * @see MetadataReader#getAnnotationMetadata()
+ */
+public abstract class ClassFileAnnotationScanner {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final String RUNTIME_INVISIBLE_ANNOTATIONS = "RuntimeInvisibleAnnotations";
+
+
+    /**
+     * Read the class-level annotation types declared in the given class file resource.
+     * @param resource the class file resource
+     * @return the fully qualified names of the annotation types, or {@code null}
+     * if the class file could not be interpreted (in which case the caller should
+     * fall back to a full metadata read)
+     * @throws IOException if the resource could not be read
+     */
+    @Nullable
+    public static Set<String> getAnnotationTypes(Resource resource) throws IOException {
+        return ClassFileContent.read(resource, ClassFileAnnotationScanner::getAnnotationTypes);
+    }
+
+    /**
+     * Read the class-level annotation types declared in the given class file content.
+     * @param classFile the buffer holding the class file content, starting at offset 0
+     * @param length the length of the class file content within the buffer
+     * @return the fully qualified names of the annotation types, or {@code null}
+     * if the class file could not be interpreted
+     */
+    @Nullable
+    static Set<String> getAnnotationTypes(byte[] classFile, int length) {
+        try {
+            return new Scan(classFile, length).readClassAnnotationTypes();
+        }
+        catch (IndexOutOfBoundsException | IllegalStateException ex) {
+            // Truncated or unknown class file structure: cannot determine annotations this way.
+            return null;
+        }
+    }
+
+
+    /**
+     * The state of a single class file scan.
+     */
+    private static class Scan {
+
+        private final byte[] b;
+
+        private final int length;
+
+        private int[] cpInfoOffsets = new int[0];
+
+        Scan(byte[] classFile, int length) {
+            this.b = classFile;
+            this.length = length;
+        }
+
+        Set<String> readClassAnnotationTypes() {
+            if (readInt(0) != MAGIC) {
+                throw new IllegalStateException("Not a class file");
+            }
+            int offset = readConstantPoolOffsets();
+            // access_flags, this_class, super_class
+            offset += 6;
+            int interfacesCount = readUnsignedShort(offset);
+            offset += 2 + 2 * interfacesCount;
+            // fields, then methods
+            offset = skipMembers(offset);
+            offset = skipMembers(offset);
+
+            Set<String> annotationTypes = null;
+            int attributesCount = readUnsignedShort(offset);
+            offset += 2;
+            for (int i = 0; i < attributesCount; i++) {
+                int attributeLength = readInt(offset + 2);
+                int attributeStart = offset + 6;
+                if (isUtf8(readUnsignedShort(offset), RUNTIME_VISIBLE_ANNOTATIONS) ||
+                        isUtf8(readUnsignedShort(offset), RUNTIME_INVISIBLE_ANNOTATIONS)) {
+                    if (annotationTypes == null) {
+                        annotationTypes = new LinkedHashSet<>(4);
+                    }
+                    readAnnotationTypes(attributeStart, annotationTypes);
+                }
+                offset = attributeStart + attributeLength;
+            }
+            if (offset > this.length) {
+                throw new IllegalStateException("Truncated class file");
+            }
+            return (annotationTypes != null ? annotationTypes : Collections.emptySet());
+        }
+
+        private int readConstantPoolOffsets() {
+            int count = readUnsignedShort(8);
+            this.cpInfoOffsets = new int[count];
+            int offset = 10;
+            for (int i = 1; i < count; i++) {
+                this.cpInfoOffsets[i] = offset + 1;
+                int tag = readUnsignedByte(offset);
+                switch (tag) {
+                    case 1:  // Utf8
+                        offset += 3 + readUnsignedShort(offset + 1);
+                        break;
+                    case 3:  // Integer
+                    case 4:  // Float
+                    case 9:  // Fieldref
+                    case 10:  // Methodref
+                    case 11:  // InterfaceMethodref
+                    case 12:  // NameAndType
+                    case 17:  // Dynamic
+                    case 18:  // InvokeDynamic
+                        offset += 5;
+                        break;
+                    case 5:  // Long
+                    case 6:  // Double
+                        offset += 9;
+                        i++;
+                        break;
+                    case 15:  // MethodHandle
+                        offset += 4;
+                        break;
+                    case 7:  // Class
+                    case 8:  // String
+                    case 16:  // MethodType
+                    case 19:  // Module
+                    case 20:  // Package
+                        offset += 3;
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown constant pool tag " + tag);
+                }
+            }
+            return offset;
+        }
+
+        private int skipMembers(int offset) {
+            int count = readUnsignedShort(offset);
+            offset += 2;
+            for (int i = 0; i < count; i++) {
+                // access_flags, name_index, descriptor_index
+                offset += 6;
+                int attributesCount = readUnsignedShort(offset);
+                offset += 2;
+                for (int j = 0; j < attributesCount; j++) {
+                    offset += 6 + readInt(offset + 2);
+                }
+            }
+            return offset;
+        }
+
+        private void readAnnotationTypes(int offset, Set<String> annotationTypes) {
+            int count = readUnsignedShort(offset);
+            offset += 2;
+            for (int i = 0; i < count; i++) {
+                String descriptor = readUtf8(readUnsignedShort(offset));
+                if (descriptor.length() > 2 && descriptor.charAt(0) == 'L' && descriptor.endsWith(";")) {
+                    annotationTypes.add(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'));
+                }
+                offset = skipAnnotationValues(offset + 2);
+            }
+        }
+
+        private int skipAnnotationValues(int offset) {
+            int pairCount = readUnsignedShort(offset);
+            offset += 2;
+            for (int i = 0; i < pairCount; i++) {
+                // element_name_index
+                offset = skipElementValue(offset + 2);
+            }
+            return offset;
+        }
+
+        private int skipElementValue(int offset) {
+            char tag = (char) readUnsignedByte(offset);
+            offset++;
+            switch (tag) {
+                case 'B':
+                case 'C':
+                case 'D':
+                case 'F':
+                case 'I':
+                case 'J':
+                case 'S':
+                case 'Z':
+                case 's':
+                case 'c':
+                    return offset + 2;
+                case 'e':
+                    return offset + 4;
+                case '@':
+                    // type_index, then the nested annotation's element-value pairs
+                    return skipAnnotationValues(offset + 2);
+                case '[':
+                    int valueCount = readUnsignedShort(offset);
+                    offset += 2;
+                    for (int i = 0; i < valueCount; i++) {
+                        offset = skipElementValue(offset);
+                    }
+                    return offset;
+                default:
+                    throw new IllegalStateException("Unknown element value tag " + tag);
+            }
+        }
+
+        private boolean isUtf8(int constantIndex, String expected) {
+            int offset = getConstantOffset(constantIndex);
+            int utfLength = readUnsignedShort(offset);
+            if (utfLength != expected.length()) {
+                return false;
+            }
+            // The expected attribute names are plain ASCII, encoded as one byte per char.
+            for (int i = 0; i < utfLength; i++) {
+                if (readUnsignedByte(offset + 2 + i) != expected.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String readUtf8(int constantIndex) {
+            int offset = getConstantOffset(constantIndex);
+            int utfLength = readUnsignedShort(offset);
+            int current = offset + 2;
+            int end = current + utfLength;
+            char[] chars = new char[utfLength];
+            int charCount = 0;
+            while (current < end) {
+                int c = readUnsignedByte(current++);
+                if ((c & 0x80) == 0) {
+                    chars[charCount++] = (char) c;
+                }
+                else if ((c & 0xE0) == 0xC0) {
+                    chars[charCount++] = (char) (((c & 0x1F) << 6) | (readUnsignedByte(current++) & 0x3F));
+                }
+                else {
+                    chars[charCount++] = (char) (((c & 0x0F) << 12) |
+                            ((readUnsignedByte(current++) & 0x3F) << 6) | (readUnsignedByte(current++) & 0x3F));
+                }
+            }
+            return new String(chars, 0, charCount);
+        }
+
+        private int getConstantOffset(int constantIndex) {
+            if (constantIndex <= 0 || constantIndex >= this.cpInfoOffsets.length) {
+                throw new IllegalStateException("Invalid constant pool index " + constantIndex);
+            }
+            return this.cpInfoOffsets[constantIndex];
+        }
+
+        private int readUnsignedByte(int offset) {
+            checkBounds(offset, 1);
+            return this.b[offset] & 0xFF;
+        }
+
+        private int readUnsignedShort(int offset) {
+            checkBounds(offset, 2);
+            return ((this.b[offset] & 0xFF) << 8) | (this.b[offset + 1] & 0xFF);
+        }
+
+        private int readInt(int offset) {
+            checkBounds(offset, 4);
+            return ((this.b[offset] & 0xFF) << 24) | ((this.b[offset + 1] & 0xFF) << 16) |
+                    ((this.b[offset + 2] & 0xFF) << 8) | (this.b[offset + 3] & 0xFF);
+        }
+
+        private void checkBounds(int offset, int size) {
+            // The buffer may be larger than the class file: never read beyond its actual content.
+            if (offset < 0 || offset > this.length - size) {
+                throw new IllegalStateException("Truncated class file");
+            }
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.io.Resource;
+
+/**
+ * Reads the content of class file resources into a per-thread buffer that is
+ * reused across reads, avoiding a new byte array (plus the intermediate buffers
+ * of a stream-based read) for every class file that is scanned.
+ *
+ * <p>Class files in the file system are read through a {@link FileChannel},
+ * class files in jar files and other locations through their input stream.
+ * The content is only valid during the {@link ContentCallback} invocation:
+ * the callback must not hold on to the buffer, which is what the ASM-based
+ * readers in this package adhere to, since their metadata is fully extracted
+ * while visiting the class file.
+ *
+ * @since 1.0
+ * @see SimpleMetadataReader
+ */
+abstract class ClassFileContent {
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    /** Larger buffers (for exceptionally large class files) are not retained per thread */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+    private static final ThreadLocal<byte[]> buffers = new NamedThreadLocal<>("Class file buffer");
+
+
+    /**
+     * Read the content of the given class file resource and pass it to the given callback.
+     * @param resource the class file resource
+     * @param callback the callback to process the content with
+     * @return the result of the callback
+     * @throws IOException if the resource could not be read or the callback failed
+     */
+    public static <T> T read(Resource resource, ContentCallback<T> callback) throws IOException {
+        // Take the buffer away from the thread for the duration of the callback,
+        // so that a nested read on the same thread does not overwrite the content.
+        byte[] buffer = buffers.get();
+        buffers.remove();
+        if (buffer == null) {
+            buffer = new byte[INITIAL_BUFFER_SIZE];
+        }
+        try {
+            int length;
+            if (resource.isFile()) {
+                File file = resource.getFile();
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                    long size = channel.size();
+                    if (size > Integer.MAX_VALUE - 8) {
+                        throw new IOException("Class file too large: " + resource);
+                    }
+                    if (size > buffer.length) {
+                        buffer = new byte[(int) size];
+                    }
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, (int) size);
+                    while (byteBuffer.hasRemaining() && channel.read(byteBuffer) != -1) {
+                        // keep reading until the expected size has been reached or at end of file
+                    }
+                    length = byteBuffer.position();
+                }
+            }
+            else {
+                try (InputStream is = resource.getInputStream()) {
+                    length = 0;
+                    while (true) {
+                        if (length == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        }
+                        int read = is.read(buffer, length, buffer.length - length);
+                        if (read == -1) {
+                            break;
+                        }
+                        length += read;
+                    }
+                }
+            }
+            return callback.process(buffer, length);
+        }
+        finally {
+            if (buffer.length <= MAX_RETAINED_BUFFER_SIZE) {
+                buffers.set(buffer);
+            }
+        }
+    }
+
+
+    /**
+     * Check whether the class file structure following the constant pool
+     * lies completely within the given length. Since the buffer may hold stale
+     * content beyond the actual class file, this needs to be verified before
+     * handing a truncated class file to a parser that does not respect the length.
+     * @param classFile the buffer holding the class file content
+     * @param length the length of the class file content within the buffer
+     * @param header the offset of the access flags, i.e. the end of the constant pool
+     * @return {@code true} if all fields, methods and attributes fit into the length
+     */
+    static boolean isComplete(byte[] classFile, int length, int header) {
+        // access_flags, this_class, super_class
+        long offset = header + 6L;
+        if (offset + 2 > length) {
+            return false;
+        }
+        offset += 2 + 2L * readUnsignedShort(classFile, (int) offset);
+        // fields, then methods
+        for (int i = 0; i < 2; i++) {
+            if (offset + 2 > length) {
+                return false;
+            }
+            int membersCount = readUnsignedShort(classFile, (int) offset);
+            offset += 2;
+            for (int j = 0; j < membersCount; j++) {
+                // access_flags, name_index, descriptor_index
+                offset = skipAttributes(classFile, length, offset + 6);
+                if (offset < 0) {
+                    return false;
+                }
+            }
+        }
+        offset = skipAttributes(classFile, length, offset);
+        return (offset >= 0 && offset <= length);
+    }
+
+    private static long skipAttributes(byte[] classFile, int length, long offset) {
+        if (offset + 2 > length) {
+            return -1;
+        }
+        int attributesCount = readUnsignedShort(classFile, (int) offset);
+        offset += 2;
+        for (int i = 0; i < attributesCount; i++) {
+            // attribute_name_index, attribute_length
+            if (offset + 6 > length) {
+                return -1;
+            }
+            int pos = (int) offset + 2;
+            long attributeLength = ((classFile[pos] & 0xFFL) << 24) | ((classFile[pos + 1] & 0xFF) << 16) |
+                    ((classFile[pos + 2] & 0xFF) << 8) | (classFile[pos + 3] & 0xFF);
+            offset += 6 + attributeLength;
+        }
+        return (offset <= length ? offset : -1);
+    }
+
+    private static int readUnsignedShort(byte[] classFile, int offset) {
+        return ((classFile[offset] & 0xFF) << 8) | (classFile[offset + 1] & 0xFF);
+    }
+
+
+    /**
+     * Callback for processing the content of a class file.
+     * @param <T> the type of result
+     */
+    @FunctionalInterface
+    interface ContentCallback<T> {
+
+        /**
+         * Process the given class file content.
+         * @param classFile the buffer holding the class file content, starting
+         * at offset 0 (only valid for the duration of this call)
+         * @param length the length of the class file content within the buffer
+         * @return the result of processing
+         * @throws IOException in case of processing failure
+         */
+        T process(byte[] classFile, int length) throws IOException;
+    }
+
+}
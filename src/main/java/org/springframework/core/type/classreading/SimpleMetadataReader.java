@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,7 @@
 
 package org.springframework.core.type.classreading;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 
 import org.springframework.asm.ClassReader;
 import org.springframework.core.NestedIOException;
@@ -48,21 +46,26 @@ final class SimpleMetadataReader implements MetadataReader {
 
 
     SimpleMetadataReader(Resource resource, @Nullable ClassLoader classLoader) throws IOException {
-        InputStream is = new BufferedInputStream(resource.getInputStream());
-        ClassReader classReader;
-        try {
-            classReader = new ClassReader(is);
-        }
-        catch (IllegalArgumentException ex) {
-            throw new NestedIOException("ASM ClassReader failed to parse class file - " +
-                    "probably due to a new Java class file version that isn't supported yet: " + resource, ex);
-        }
-        finally {
-            is.close();
-        }
-
         AnnotationMetadataReadingVisitor visitor = new AnnotationMetadataReadingVisitor(classLoader);
-        classReader.accept(visitor, ClassReader.SKIP_DEBUG);
+        ClassFileContent.read(resource, (classFile, length) -> {
+            if (length == 0) {
+                throw new NestedIOException("Empty class file: " + resource);
+            }
+            ClassReader classReader;
+            try {
+                classReader = new ClassReader(classFile, 0, length);
+            }
+            catch (IllegalArgumentException ex) {
+                throw new NestedIOException("ASM ClassReader failed to parse class file - " +
+                        "probably due to a new Java class file version that isn't supported yet: " + resource, ex);
+            }
+            if (classReader.header > length || !ClassFileContent.isComplete(classFile, length, classReader.header)) {
+                // ClassReader does not respect the length: never let it see content beyond it.
+                throw new NestedIOException("Truncated class file: " + resource);
+            }
+            classReader.accept(visitor, ClassReader.SKIP_DEBUG);
+            return null;
+        });
 
         this.annotationMetadata = visitor;
         // (since AnnotationMetadataReadingVisitor extends ClassMetadataReadingVisitor)
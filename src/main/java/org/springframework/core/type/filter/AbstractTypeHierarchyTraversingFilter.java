@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,6 +52,22 @@ public abstract class AbstractTypeHierarchyTraversingFilter implements org.sprin
         this.considerInterfaces = considerInterfaces;
     }
 
+    /**
+     * Return whether this filter also matches based on the superclass hierarchy.
+     * @since 1.0
+     */
+    protected final boolean isConsiderInherited() {
+        return this.considerInherited;
+    }
+
+    /**
+     * Return whether this filter also matches based on implemented interfaces.
+     * @since 1.0
+     */
+    protected final boolean isConsiderInterfaces() {
+        return this.considerInterfaces;
+    }
+
 
     @Override
     public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory)
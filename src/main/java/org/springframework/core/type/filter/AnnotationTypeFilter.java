@@ -18,7 +18,11 @@ package org.springframework.core.type.filter;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Inherited;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.MetadataReader;
@@ -42,6 +46,9 @@ public class AnnotationTypeFilter extends AbstractTypeHierarchyTraversingFilter
 
     private final boolean considerMetaAnnotations;
 
+    /** Whether each annotation type seen by {@link #mayMatch} is meta-annotated with the target type */
+    private final Map<String, Boolean> metaAnnotationMatchCache = new ConcurrentHashMap<>(64);
+
 
     /**
      * Create a new AnnotationTypeFilter for the given annotation type.
@@ -88,6 +95,51 @@ public class AnnotationTypeFilter extends AbstractTypeHierarchyTraversingFilter
         return this.annotationType;
     }
 
+    /**
+     * Determine whether a class that declares the given annotation types may match
+     * this filter, as a cheap pre-check before reading its full metadata.
+     * <p>A class can only be ruled out if this filter neither considers inherited
+     * annotations nor interfaces, and if none of the given annotation types is this
+     * filter's annotation type or, if meta-annotations are considered, meta-annotated
+     * with it. Annotation types that cannot be loaded are treated as potential matches.
+     * @param annotationTypes the class-level annotation types declared on the class
+     * @param classLoader the ClassLoader to load the given annotation types with
+     * @return {@code false} if the class cannot match, {@code true} if it may match
+     * (to be determined by {@link #match})
+     * @since 1.0
+     * @see org.springframework.core.type.classreading.ClassFileAnnotationScanner
+     */
+    public boolean mayMatch(Set<String> annotationTypes, @Nullable ClassLoader classLoader) {
+        if (isConsiderInherited() || isConsiderInterfaces()) {
+            return true;
+        }
+        String annotationName = this.annotationType.getName();
+        for (String candidate : annotationTypes) {
+            if (annotationName.equals(candidate)) {
+                return true;
+            }
+            if (this.considerMetaAnnotations &&
+                    this.metaAnnotationMatchCache.computeIfAbsent(candidate, type -> isMetaAnnotated(type, classLoader))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isMetaAnnotated(String annotationTypeName, @Nullable ClassLoader classLoader) {
+        if (annotationTypeName.startsWith("java.lang.annotation.")) {
+            return false;
+        }
+        try {
+            Class<?> annotationClass = ClassUtils.forName(annotationTypeName, classLoader);
+            return AnnotatedElementUtils.isAnnotated(annotationClass, this.annotationType.getName());
+        }
+        catch (Throwable ex) {
+            // Not regularly loadable - can't rule out a match that way.
+            return true;
+        }
+    }
+
     @Override
     protected boolean matchSelf(MetadataReader metadataReader) {
         AnnotationMetadata metadata = metadataReader.getAnnotationMetadata();
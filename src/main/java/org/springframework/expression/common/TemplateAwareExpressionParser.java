@@ -26,6 +26,8 @@ import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParseException;
 import org.springframework.expression.ParserContext;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentLruCache;
+import org.springframework.util.ObjectUtils;
 
 /**
  * An expression parser that understands templates. It can be subclassed by expression
@@ -38,6 +40,51 @@ import org.springframework.lang.Nullable;
  */
 public abstract class TemplateAwareExpressionParser implements ExpressionParser {
 
+	@Nullable
+	private volatile ConcurrentLruCache<ExpressionCacheKey, Expression> expressionCache;
+
+
+	/**
+	 * Specify the maximum number of parsed expressions to cache, keyed by
+	 * expression string and {@link ParserContext} settings.
+	 * <p>Default is 0: no caching, i.e. a new Expression for every call.
+	 * With caching, the same Expression instance gets returned to all callers
+	 * parsing the same expression string, across threads, so callers must not
+	 * customize the returned Expression (e.g. through a default evaluation context).
+	 * Beyond the limit, the least recently used expressions get evicted.
+	 */
+	public void setExpressionCacheLimit(int expressionCacheLimit) {
+		this.expressionCache = (expressionCacheLimit > 0 ?
+				new ConcurrentLruCache<>(expressionCacheLimit, this::parseExpressionForCache) : null);
+	}
+
+	/**
+	 * Return the maximum number of parsed expressions to cache, or 0 if not caching.
+	 */
+	public int getExpressionCacheLimit() {
+		ConcurrentLruCache<ExpressionCacheKey, Expression> expressionCache = this.expressionCache;
+		return (expressionCache != null ? expressionCache.sizeLimit() : 0);
+	}
+
+	/**
+	 * Return the number of parse calls served from the expression cache.
+	 * @see #setExpressionCacheLimit
+	 */
+	public long getExpressionCacheHitCount() {
+		ConcurrentLruCache<ExpressionCacheKey, Expression> expressionCache = this.expressionCache;
+		return (expressionCache != null ? expressionCache.getHitCount() : 0);
+	}
+
+	/**
+	 * Return the number of parse calls that had to parse because of an expression cache miss.
+	 * @see #setExpressionCacheLimit
+	 */
+	public long getExpressionCacheMissCount() {
+		ConcurrentLruCache<ExpressionCacheKey, Expression> expressionCache = this.expressionCache;
+		return (expressionCache != null ? expressionCache.getMissCount() : 0);
+	}
+
+
 	@Override
 	public Expression parseExpression(String expressionString) throws ParseException {
 		return parseExpression(expressionString, null);
@@ -45,6 +92,20 @@ public abstract class TemplateAwareExpressionParser implements ExpressionParser
 
 	@Override
 	public Expression parseExpression(String expressionString, @Nullable ParserContext context) throws ParseException {
+		ConcurrentLruCache<ExpressionCacheKey, Expression> expressionCache = this.expressionCache;
+		if (expressionCache != null) {
+			return expressionCache.get(new ExpressionCacheKey(expressionString, context));
+		}
+		return doParseExpressionOrTemplate(expressionString, context);
+	}
+
+	private Expression parseExpressionForCache(ExpressionCacheKey cacheKey) {
+		return doParseExpressionOrTemplate(cacheKey.expressionString, cacheKey.context);
+	}
+
+	private Expression doParseExpressionOrTemplate(String expressionString, @Nullable ParserContext context)
+			throws ParseException {
+
 		if (context != null && context.isTemplate()) {
 			return parseTemplate(expressionString, context);
 		}
@@ -236,6 +297,54 @@ public abstract class TemplateAwareExpressionParser implements ExpressionParser
 			throws ParseException;
 
 
+	/**
+	 * Cache key for parsed expressions: the expression string along with the
+	 * template settings of the {@link ParserContext} that it was parsed with.
+	 */
+	private static final class ExpressionCacheKey {
+
+		final String expressionString;
+
+		@Nullable
+		final ParserContext context;
+
+		private final boolean template;
+
+		@Nullable
+		private final String prefix;
+
+		@Nullable
+		private final String suffix;
+
+		ExpressionCacheKey(String expressionString, @Nullable ParserContext context) {
+			this.expressionString = expressionString;
+			this.context = context;
+			this.template = (context != null && context.isTemplate());
+			this.prefix = (this.template ? context.getExpressionPrefix() : null);
+			this.suffix = (this.template ? context.getExpressionSuffix() : null);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ExpressionCacheKey)) {
+				return false;
+			}
+			ExpressionCacheKey otherKey = (ExpressionCacheKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) && this.template == otherKey.template &&
+					ObjectUtils.nullSafeEquals(this.prefix, otherKey.prefix) &&
+					ObjectUtils.nullSafeEquals(this.suffix, otherKey.suffix));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.expressionString.hashCode() * 29 + ObjectUtils.nullSafeHashCode(this.prefix);
+		}
+	}
+
+
 	/**
 	 * This captures a type of bracket and the position in which it occurs in the
 	 * expression. The positional information is used if an error has to be reported
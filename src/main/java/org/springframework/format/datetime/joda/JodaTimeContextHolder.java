@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,9 @@ public final class JodaTimeContextHolder {
     private static final ThreadLocal<JodaTimeContext> jodaTimeContextHolder =
             new NamedThreadLocal<>("JodaTimeContext");
 
+    /** Whether a JodaTimeContext has been set on any thread so far */
+    private static volatile boolean jodaTimeContextUsed = false;
+
 
     /**
      * Reset the JodaTimeContext for the current thread.
@@ -55,6 +58,7 @@ public final class JodaTimeContextHolder {
             resetJodaTimeContext();
         }
         else {
+            jodaTimeContextUsed = true;
             jodaTimeContextHolder.set(jodaTimeContext);
         }
     }
@@ -65,7 +69,7 @@ public final class JodaTimeContextHolder {
      */
     @Nullable
     public static JodaTimeContext getJodaTimeContext() {
-        return jodaTimeContextHolder.get();
+        return (jodaTimeContextUsed ? jodaTimeContextHolder.get() : null);
     }
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,9 @@ public final class DateTimeContextHolder {
     private static final ThreadLocal<DateTimeContext> dateTimeContextHolder =
             new NamedThreadLocal<>("DateTimeContext");
 
+    /** Whether a DateTimeContext has ever been set, allowing to skip the ThreadLocal lookup otherwise */
+    private static volatile boolean dateTimeContextUsed = false;
+
 
     /**
      * Reset the DateTimeContext for the current thread.
@@ -52,6 +55,7 @@ public final class DateTimeContextHolder {
             resetDateTimeContext();
         }
         else {
+            dateTimeContextUsed = true;
             dateTimeContextHolder.set(dateTimeContext);
         }
     }
@@ -62,7 +66,7 @@ public final class DateTimeContextHolder {
      */
     @Nullable
     public static DateTimeContext getDateTimeContext() {
-        return dateTimeContextHolder.get();
+        return (dateTimeContextUsed ? dateTimeContextHolder.get() : null);
     }
 
 
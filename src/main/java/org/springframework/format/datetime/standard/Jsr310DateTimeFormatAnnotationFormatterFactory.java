@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,13 +26,18 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.context.support.EmbeddedValueResolutionSupport;
 import org.springframework.format.AnnotationFormatterFactory;
 import org.springframework.format.Parser;
 import org.springframework.format.Printer;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -61,6 +66,10 @@ public class Jsr310DateTimeFormatAnnotationFormatterFactory extends EmbeddedValu
     }
 
 
+    /** Formatters resolved from annotation attributes, shared across fields */
+    private final Map<FormatterCacheKey, DateTimeFormatter> formatterCache = new ConcurrentHashMap<>(16);
+
+
     @Override
     public final Set<Class<?>> getFieldTypes() {
         return FIELD_TYPES;
@@ -104,21 +113,66 @@ public class Jsr310DateTimeFormatAnnotationFormatterFactory extends EmbeddedValu
      * @return a {@link DateTimeFormatter} instance
      */
     protected DateTimeFormatter getFormatter(DateTimeFormat annotation, Class<?> fieldType) {
-        DateTimeFormatterFactory factory = new DateTimeFormatterFactory();
         String style = resolveEmbeddedValue(annotation.style());
-        if (StringUtils.hasLength(style)) {
-            factory.setStylePattern(style);
-        }
-        factory.setIso(annotation.iso());
         String pattern = resolveEmbeddedValue(annotation.pattern());
-        if (StringUtils.hasLength(pattern)) {
-            factory.setPattern(pattern);
-        }
-        return factory.createDateTimeFormatter();
+        FormatterCacheKey cacheKey = new FormatterCacheKey(style, annotation.iso(), pattern);
+        return this.formatterCache.computeIfAbsent(cacheKey, key -> {
+            DateTimeFormatterFactory factory = new DateTimeFormatterFactory();
+            if (StringUtils.hasLength(key.style)) {
+                factory.setStylePattern(key.style);
+            }
+            factory.setIso(key.iso);
+            if (StringUtils.hasLength(key.pattern)) {
+                factory.setPattern(key.pattern);
+            }
+            return factory.createDateTimeFormatter();
+        });
     }
 
     private boolean isLocal(Class<?> fieldType) {
         return fieldType.getSimpleName().startsWith("Local");
     }
 
+
+
+    /**
+     * Cache key for resolved formatters: the annotation attributes
+     * after resolution of embedded values.
+     */
+    private static final class FormatterCacheKey {
+
+        @Nullable
+        private final String style;
+
+        private final ISO iso;
+
+        @Nullable
+        private final String pattern;
+
+        public FormatterCacheKey(@Nullable String style, ISO iso, @Nullable String pattern) {
+            this.style = style;
+            this.iso = iso;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof FormatterCacheKey)) {
+                return false;
+            }
+            FormatterCacheKey otherKey = (FormatterCacheKey) other;
+            return (ObjectUtils.nullSafeEquals(this.style, otherKey.style) && this.iso == otherKey.iso &&
+                    ObjectUtils.nullSafeEquals(this.pattern, otherKey.pattern));
+        }
+
+        @Override
+        public int hashCode() {
+            return (ObjectUtils.nullSafeHashCode(this.style) * 29 + this.iso.hashCode()) * 29 +
+                    ObjectUtils.nullSafeHashCode(this.pattern);
+        }
+    }
+
 }
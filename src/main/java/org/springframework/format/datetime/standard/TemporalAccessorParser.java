@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,8 +26,11 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.format.Parser;
+import org.springframework.lang.Nullable;
 
 /**
  * {@link Parser} implementation for a JSR-310 {@link java.time.temporal.TemporalAccessor},
@@ -49,6 +52,9 @@ public final class TemporalAccessorParser implements Parser<TemporalAccessor> {
 
     private final DateTimeFormatter formatter;
 
+    /** Base formatter with the user locale applied, per locale */
+    private final Map<Locale, DateTimeFormatter> localizedFormatters = new ConcurrentHashMap<>(4);
+
 
     /**
      * Create a new TemporalAccessorParser for the given TemporalAccessor type.
@@ -64,7 +70,7 @@ public final class TemporalAccessorParser implements Parser<TemporalAccessor> {
 
     @Override
     public TemporalAccessor parse(String text, Locale locale) throws ParseException {
-        DateTimeFormatter formatterToUse = DateTimeContextHolder.getFormatter(this.formatter, locale);
+        DateTimeFormatter formatterToUse = DateTimeContextHolder.getFormatter(getLocalizedFormatter(locale), null);
         if (LocalDate.class == this.temporalAccessorType) {
             return LocalDate.parse(text, formatterToUse);
         }
@@ -88,4 +94,9 @@ public final class TemporalAccessorParser implements Parser<TemporalAccessor> {
         }
     }
 
+    private DateTimeFormatter getLocalizedFormatter(@Nullable Locale locale) {
+        return (locale != null ?
+                this.localizedFormatters.computeIfAbsent(locale, this.formatter::withLocale) : this.formatter);
+    }
+
 }
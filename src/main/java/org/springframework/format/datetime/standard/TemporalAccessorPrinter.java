@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,18 @@
 
 package org.springframework.format.datetime.standard;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.format.Printer;
+import org.springframework.lang.Nullable;
 
 /**
  * {@link Printer} implementation for a JSR-310 {@link java.time.temporal.TemporalAccessor},
@@ -35,6 +42,9 @@ public final class TemporalAccessorPrinter implements Printer<TemporalAccessor>
 
     private final DateTimeFormatter formatter;
 
+    /** Base formatter with the user locale applied, per locale */
+    private final Map<Locale, DateTimeFormatter> localizedFormatters = new ConcurrentHashMap<>(4);
+
 
     /**
      * Create a new TemporalAccessorPrinter.
@@ -47,7 +57,100 @@ public final class TemporalAccessorPrinter implements Printer<TemporalAccessor>
 
     @Override
     public String print(TemporalAccessor partial, Locale locale) {
-        return DateTimeContextHolder.getFormatter(this.formatter, locale).format(partial);
+        return DateTimeContextHolder.getFormatter(getLocalizedFormatter(locale), null).format(partial);
+    }
+
+    /**
+     * Print the given value into the given {@code Appendable}, without creating
+     * an intermediate String.
+     * <p>{@link LocalDate} and {@link LocalDateTime} values for a base formatter of
+     * {@link DateTimeFormatter#ISO_LOCAL_DATE} or {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}
+     * are written directly, as long as no {@link DateTimeContext} applies.
+     * @param partial the value to print
+     * @param locale the current user locale
+     * @param appendable the {@code Appendable} to print to, e.g. a {@code StringBuilder}
+     * @throws IOException if thrown by the given {@code Appendable}
+     * @since 1.0
+     */
+    public void print(TemporalAccessor partial, Locale locale, Appendable appendable) throws IOException {
+        DateTimeContext context = DateTimeContextHolder.getDateTimeContext();
+        if (context == null) {
+            if (this.formatter == DateTimeFormatter.ISO_LOCAL_DATE && partial instanceof LocalDate &&
+                    printIsoLocalDate((LocalDate) partial, appendable)) {
+                return;
+            }
+            if (this.formatter == DateTimeFormatter.ISO_LOCAL_DATE_TIME && partial instanceof LocalDateTime &&
+                    printIsoLocalDate(((LocalDateTime) partial).toLocalDate(), appendable)) {
+                appendable.append('T');
+                printIsoLocalTime(((LocalDateTime) partial).toLocalTime(), appendable);
+                return;
+            }
+        }
+        DateTimeFormatter formatterToUse = getLocalizedFormatter(locale);
+        if (context != null) {
+            formatterToUse = context.getFormatter(formatterToUse);
+        }
+        formatterToUse.formatTo(partial, appendable);
+    }
+
+    private DateTimeFormatter getLocalizedFormatter(@Nullable Locale locale) {
+        return (locale != null ?
+                this.localizedFormatters.computeIfAbsent(locale, this.formatter::withLocale) : this.formatter);
+    }
+
+
+    /**
+     * Print the given date in {@code uuuu-MM-dd} form, as long as the year
+     * has exactly four digits (ISO_LOCAL_DATE adds a sign otherwise).
+     * @return {@code true} if printed, {@code false} to fall back to the formatter
+     */
+    private static boolean printIsoLocalDate(LocalDate date, Appendable appendable) throws IOException {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return false;
+        }
+        appendDigits(appendable, year, 4);
+        appendable.append('-');
+        appendDigits(appendable, date.getMonthValue(), 2);
+        appendable.append('-');
+        appendDigits(appendable, date.getDayOfMonth(), 2);
+        return true;
+    }
+
+    /**
+     * Print the given time in {@code HH:mm:ss} form, followed by the nanosecond
+     * fraction without trailing zeros if non-zero, just like ISO_LOCAL_TIME.
+     */
+    private static void printIsoLocalTime(LocalTime time, Appendable appendable) throws IOException {
+        appendDigits(appendable, time.getHour(), 2);
+        appendable.append(':');
+        appendDigits(appendable, time.getMinute(), 2);
+        appendable.append(':');
+        appendDigits(appendable, time.getSecond(), 2);
+        int nano = time.getNano();
+        if (nano != 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            appendable.append('.');
+            appendDigits(appendable, nano, digits);
+        }
+    }
+
+    private static void appendDigits(Appendable appendable, int value, int digits) throws IOException {
+        for (int divisor = pow10(digits - 1); divisor > 0; divisor /= 10) {
+            appendable.append((char) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
     }
 
 }
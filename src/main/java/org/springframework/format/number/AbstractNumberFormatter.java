@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2012 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,8 @@ import java.text.NumberFormat;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.format.Formatter;
 
@@ -35,6 +37,9 @@ public abstract class AbstractNumberFormatter implements Formatter<Number> {
 
     private boolean lenient = false;
 
+    /** Cache of configured NumberFormat templates per Locale, for cacheable formats only */
+    private final Map<Locale, NumberFormatTemplate> numberFormatTemplates = new ConcurrentHashMap<>(4);
+
 
     /**
      * Specify whether or not parsing is to be lenient. Default is false.
@@ -48,12 +53,34 @@ public abstract class AbstractNumberFormatter implements Formatter<Number> {
 
     @Override
     public String print(Number number, Locale locale) {
-        return getNumberFormat(locale).format(number);
+        if (!isNumberFormatCacheable()) {
+            return getNumberFormat(locale).format(number);
+        }
+        NumberFormatTemplate template = getNumberFormatTemplate(locale);
+        if (number instanceof Integer || number instanceof Long ||
+                number instanceof Short || number instanceof Byte) {
+            String text = template.print(number.longValue());
+            if (text != null) {
+                return text;
+            }
+        }
+        return template.newNumberFormat().format(number);
     }
 
     @Override
     public Number parse(String text, Locale locale) throws ParseException {
-        NumberFormat format = getNumberFormat(locale);
+        NumberFormat format;
+        if (isNumberFormatCacheable()) {
+            NumberFormatTemplate template = getNumberFormatTemplate(locale);
+            Number number = template.parse(text);
+            if (number != null) {
+                return number;
+            }
+            format = template.newNumberFormat();
+        }
+        else {
+            format = getNumberFormat(locale);
+        }
         ParsePosition position = new ParsePosition(0);
         Number number = format.parse(text, position);
         if (position.getErrorIndex() != -1) {
@@ -68,6 +95,34 @@ public abstract class AbstractNumberFormatter implements Formatter<Number> {
         return number;
     }
 
+    private NumberFormatTemplate getNumberFormatTemplate(Locale locale) {
+        return this.numberFormatTemplates.computeIfAbsent(locale,
+                key -> new NumberFormatTemplate(getNumberFormat(key)));
+    }
+
+    /**
+     * Clear the cache of NumberFormat templates, to be called by subclasses
+     * whenever a configuration change affects {@link #getNumberFormat}.
+     * @since 1.0
+     * @see #isNumberFormatCacheable()
+     */
+    protected void resetNumberFormatCache() {
+        this.numberFormatTemplates.clear();
+    }
+
+    /**
+     * Determine whether {@link #getNumberFormat} returns equivalent formats for
+     * the same locale, as long as no configuration change resets the cache.
+     * If so, a configured format is obtained once per locale and copied for each
+     * use, and plain integral values may be printed and parsed without a format.
+     * <p>The default implementation returns {@code false}.
+     * @since 1.0
+     * @see #resetNumberFormatCache()
+     */
+    protected boolean isNumberFormatCacheable() {
+        return false;
+    }
+
     /**
      * Obtain a concrete NumberFormat for the specified locale.
      * @param locale the current locale
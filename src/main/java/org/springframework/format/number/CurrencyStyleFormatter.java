@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -59,6 +59,7 @@ public class CurrencyStyleFormatter extends AbstractNumberFormatter {
      */
     public void setFractionDigits(int fractionDigits) {
         this.fractionDigits = fractionDigits;
+        resetNumberFormatCache();
     }
 
     /**
@@ -67,6 +68,7 @@ public class CurrencyStyleFormatter extends AbstractNumberFormatter {
      */
     public void setRoundingMode(RoundingMode roundingMode) {
         this.roundingMode = roundingMode;
+        resetNumberFormatCache();
     }
 
     /**
@@ -74,6 +76,7 @@ public class CurrencyStyleFormatter extends AbstractNumberFormatter {
      */
     public void setCurrency(Currency currency) {
         this.currency = currency;
+        resetNumberFormatCache();
     }
 
     /**
@@ -83,9 +86,15 @@ public class CurrencyStyleFormatter extends AbstractNumberFormatter {
      */
     public void setPattern(String pattern) {
         this.pattern = pattern;
+        resetNumberFormatCache();
     }
 
 
+    @Override
+    protected boolean isNumberFormatCacheable() {
+        return true;
+    }
+
     @Override
     public BigDecimal parse(String text, Locale locale) throws ParseException {
         BigDecimal decimal = (BigDecimal) super.parse(text, locale);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,9 @@
 
 package org.springframework.format.number;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.context.support.EmbeddedValueResolutionSupport;
 import org.springframework.format.AnnotationFormatterFactory;
@@ -39,6 +41,15 @@ import org.springframework.util.StringUtils;
 public class NumberFormatAnnotationFormatterFactory extends EmbeddedValueResolutionSupport
         implements AnnotationFormatterFactory<NumberFormat> {
 
+    /**
+     * Formatters shared across fields, keeping their NumberFormat templates
+     * per Locale: pattern --> formatter.
+     */
+    private final Map<String, Formatter<Number>> patternFormatters = new ConcurrentHashMap<>(16);
+
+    private final Map<Style, Formatter<Number>> styleFormatters = new ConcurrentHashMap<>(4);
+
+
     @Override
     public Set<Class<?>> getFieldTypes() {
         return NumberUtils.STANDARD_NUMBER_TYPES;
@@ -58,19 +69,22 @@ public class NumberFormatAnnotationFormatterFactory extends EmbeddedValueResolut
     private Formatter<Number> configureFormatterFrom(NumberFormat annotation) {
         String pattern = resolveEmbeddedValue(annotation.pattern());
         if (StringUtils.hasLength(pattern)) {
-            return new NumberStyleFormatter(pattern);
+            return this.patternFormatters.computeIfAbsent(pattern, NumberStyleFormatter::new);
+        }
+        else {
+            return this.styleFormatters.computeIfAbsent(annotation.style(), this::createFormatter);
+        }
+    }
+
+    private Formatter<Number> createFormatter(Style style) {
+        if (style == Style.CURRENCY) {
+            return new CurrencyStyleFormatter();
+        }
+        else if (style == Style.PERCENT) {
+            return new PercentStyleFormatter();
         }
         else {
-            Style style = annotation.style();
-            if (style == Style.CURRENCY) {
-                return new CurrencyStyleFormatter();
-            }
-            else if (style == Style.PERCENT) {
-                return new PercentStyleFormatter();
-            }
-            else {
-                return new NumberStyleFormatter();
-            }
+            return new NumberStyleFormatter();
         }
     }
 
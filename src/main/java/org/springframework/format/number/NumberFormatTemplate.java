@@ -0,0 +1,200 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.format.number;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.ParsePosition;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A configured {@link NumberFormat} for a specific locale, handing out copies
+ * for use by a single thread, plus the symbols for printing and parsing plain
+ * integral values without going through the {@code NumberFormat} at all.
+ *
+ * <p>The integral fast paths are only enabled if they produce the same results
+ * as the template format for a set of probe values: e.g. not for formats with
+ * prefixes, suffixes, fraction digits, multipliers or secondary grouping sizes.
+ *
+ * @since 1.0
+ * @see AbstractNumberFormatter
+ */
+final class NumberFormatTemplate {
+
+    private static final long[] PRINT_PROBES =
+            {0, 7, 42, 1234567, -1, -1234567, Long.MAX_VALUE, Long.MIN_VALUE};
+
+    private static final String[] PARSE_PROBES = {"0", "7", "007", "1234567", "999999999999999999"};
+
+    /** Maximum number of digits that can be parsed into a long without overflow */
+    private static final int MAX_LONG_DIGITS = 18;
+
+
+    private final NumberFormat format;
+
+    private final char zeroDigit;
+
+    private final char groupingSeparator;
+
+    /** Grouping size, or 0 if grouping is not used */
+    private final int groupingSize;
+
+    private final String negativePrefix;
+
+    private final String negativeSuffix;
+
+    private final boolean parseBigDecimal;
+
+    private final boolean fastPrint;
+
+    private final boolean fastParse;
+
+
+    /**
+     * Create a new template for the given, fully configured format.
+     * The format will not be exposed or modified afterwards.
+     * @param format the NumberFormat to copy for each use
+     */
+    NumberFormatTemplate(NumberFormat format) {
+        this.format = format;
+        if (format instanceof DecimalFormat) {
+            DecimalFormat decimalFormat = (DecimalFormat) format;
+            DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+            this.zeroDigit = symbols.getZeroDigit();
+            this.groupingSeparator = symbols.getGroupingSeparator();
+            this.groupingSize = (decimalFormat.isGroupingUsed() ? decimalFormat.getGroupingSize() : 0);
+            this.negativePrefix = decimalFormat.getNegativePrefix();
+            this.negativeSuffix = decimalFormat.getNegativeSuffix();
+            this.parseBigDecimal = decimalFormat.isParseBigDecimal();
+            this.fastPrint = isPrintConsistent(decimalFormat);
+            this.fastParse = isParseConsistent(decimalFormat);
+        }
+        else {
+            this.zeroDigit = '0';
+            this.groupingSeparator = ',';
+            this.groupingSize = 0;
+            this.negativePrefix = "-";
+            this.negativeSuffix = "";
+            this.parseBigDecimal = false;
+            this.fastPrint = false;
+            this.fastParse = false;
+        }
+    }
+
+
+    /**
+     * Return a copy of the template format, to be used by the current thread only.
+     */
+    public NumberFormat newNumberFormat() {
+        return (NumberFormat) this.format.clone();
+    }
+
+    /**
+     * Print the given integral value without going through the template format.
+     * @param value the value to print
+     * @return the printed value, or {@code null} if the format requires
+     * the regular {@link NumberFormat#format} path
+     */
+    @Nullable
+    public String print(long value) {
+        return (this.fastPrint ? printLong(value) : null);
+    }
+
+    /**
+     * Parse the given text without going through the template format,
+     * provided that it consists of a limited number of digits only.
+     * @param text the text to parse
+     * @return the parsed value (a {@code BigDecimal} if the template format
+     * is configured to parse BigDecimals, a {@code Long} otherwise), or {@code null}
+     * if the text requires the regular {@link NumberFormat#parse} path
+     */
+    @Nullable
+    public Number parse(String text) {
+        return (this.fastParse ? parseDigits(text) : null);
+    }
+
+
+    private String printLong(long value) {
+        char[] buffer = new char[40];
+        int pos = buffer.length;
+        // Accumulate in the negative range, covering Long.MIN_VALUE as well
+        long remaining = (value < 0 ? value : -value);
+        int digitCount = 0;
+        do {
+            if (this.groupingSize > 0 && digitCount > 0 && digitCount % this.groupingSize == 0) {
+                buffer[--pos] = this.groupingSeparator;
+            }
+            buffer[--pos] = (char) (this.zeroDigit - (int) (remaining % 10));
+            remaining /= 10;
+            digitCount++;
+        }
+        while (remaining != 0);
+        String digits = new String(buffer, pos, buffer.length - pos);
+        return (value < 0 ? this.negativePrefix + digits + this.negativeSuffix : digits);
+    }
+
+    @Nullable
+    private Number parseDigits(String text) {
+        int length = text.length();
+        if (length == 0 || length > MAX_LONG_DIGITS) {
+            return null;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = text.charAt(i) - this.zeroDigit;
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        return (this.parseBigDecimal ? BigDecimal.valueOf(value) : Long.valueOf(value));
+    }
+
+    private boolean isPrintConsistent(DecimalFormat decimalFormat) {
+        for (long probe : PRINT_PROBES) {
+            if (!decimalFormat.format(probe).equals(printLong(probe))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isParseConsistent(DecimalFormat decimalFormat) {
+        for (String probe : PARSE_PROBES) {
+            String text = localizeDigits(probe);
+            ParsePosition position = new ParsePosition(0);
+            Number number = decimalFormat.parse(text, position);
+            if (number == null || position.getIndex() != text.length() ||
+                    !number.equals(parseDigits(text))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String localizeDigits(String digits) {
+        char[] chars = digits.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (this.zeroDigit + (chars[i] - '0'));
+        }
+        return new String(chars);
+    }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2015 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,11 @@ import java.util.Locale;
  */
 public class PercentStyleFormatter extends AbstractNumberFormatter {
 
+    @Override
+    protected boolean isNumberFormatCacheable() {
+        return true;
+    }
+
     @Override
     protected NumberFormat getNumberFormat(Locale locale) {
         NumberFormat format = NumberFormat.getPercentInstance(locale);
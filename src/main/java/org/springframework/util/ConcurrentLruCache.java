@@ -0,0 +1,178 @@
+/*
+ * Copyright 2002-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Simple LRU (Least Recently Used) cache, bounded by a specified cache limit.
+ *
+ * <p>This implementation is backed by a {@code ConcurrentHashMap} for storing
+ * the cached values and a {@code ConcurrentLinkedDeque} for ordering the keys
+ * and choosing the least recently used key when the cache is at full capacity.
+ * Values are generated through the given function on a cache miss, outside of
+ * any lock: concurrent misses for the same key may therefore generate the value
+ * more than once, with only the first one getting cached and returned to all callers.
+ *
+ * <p>Hits and misses are counted, e.g. for monitoring the effectiveness of the
+ * chosen cache limit.
+ *
+ * @since 1.0
+ * @param <K> the type of the key used for cache retrieval
+ * @param <V> the type of the cached values
+ * @see #get
+ */
+public class ConcurrentLruCache<K, V> {
+
+    private final int sizeLimit;
+
+    private final Function<K, V> generator;
+
+    private final ConcurrentHashMap<K, V> cache = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedDeque<K> queue = new ConcurrentLinkedDeque<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private volatile int size = 0;
+
+
+    /**
+     * Create a new cache instance with the given limit and generator function.
+     * @param sizeLimit the maximum number of entries in the cache
+     * @param generator a function to generate a new value for a given key
+     */
+    public ConcurrentLruCache(int sizeLimit, Function<K, V> generator) {
+        Assert.isTrue(sizeLimit > 0, "Cache size limit must be greater than 0");
+        Assert.notNull(generator, "Generator function must not be null");
+        this.sizeLimit = sizeLimit;
+        this.generator = generator;
+    }
+
+
+    /**
+     * Retrieve an entry from the cache, potentially triggering generation
+     * of the value.
+     * @param key the key to retrieve the entry for
+     * @return the cached or newly generated value
+     */
+    public V get(K key) {
+        V cached = this.cache.get(key);
+        if (cached != null) {
+            this.hitCount.incrementAndGet();
+            if (this.size < this.sizeLimit) {
+                // No eviction ahead: no need to track access order yet.
+                return cached;
+            }
+            this.lock.readLock().lock();
+            try {
+                touch(key);
+                return cached;
+            }
+            finally {
+                this.lock.readLock().unlock();
+            }
+        }
+
+        this.missCount.incrementAndGet();
+        V value = this.generator.apply(key);
+        Assert.state(value != null, "Generator function must not return null");
+        this.lock.writeLock().lock();
+        try {
+            // Retrying in case of concurrent generation for the same key
+            cached = this.cache.get(key);
+            if (cached != null) {
+                touch(key);
+                return cached;
+            }
+            if (this.size >= this.sizeLimit) {
+                K leastUsed = this.queue.poll();
+                if (leastUsed != null) {
+                    this.cache.remove(leastUsed);
+                }
+            }
+            this.queue.offer(key);
+            this.cache.put(key, value);
+            this.size = this.cache.size();
+            return value;
+        }
+        finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void touch(K key) {
+        if (this.queue.removeLastOccurrence(key)) {
+            this.queue.offer(key);
+        }
+    }
+
+    /**
+     * Immediately remove all entries from this cache.
+     */
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.cache.clear();
+            this.queue.clear();
+            this.size = 0;
+        }
+        finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Return the current size of the cache.
+     * @see #sizeLimit()
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Return the maximum number of entries in the cache.
+     * @see #size()
+     */
+    public int sizeLimit() {
+        return this.sizeLimit;
+    }
+
+    /**
+     * Return the number of lookups that found a cached value.
+     */
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * Return the number of lookups that had to generate a value.
+     */
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+}
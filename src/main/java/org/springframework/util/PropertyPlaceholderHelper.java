@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,10 @@
 
 package org.springframework.util;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -41,6 +43,8 @@ public class PropertyPlaceholderHelper {
 
     private static final Log logger = LogFactory.getLog(PropertyPlaceholderHelper.class);
 
+    private static final int PARSED_VALUE_CACHE_LIMIT = 256;
+
     private static final Map<String, String> wellKnownSimplePrefixes = new HashMap<>(4);
 
     static {
@@ -61,6 +65,10 @@ public class PropertyPlaceholderHelper {
 
     private final boolean ignoreUnresolvablePlaceholders;
 
+    /** Values split into literal parts and placeholders: value --> ParsedValue */
+    private final ConcurrentLruCache<String, ParsedValue> parsedValueCache =
+            new ConcurrentLruCache<>(PARSED_VALUE_CACHE_LIMIT, this::parse);
+
 
     /**
      * Creates a new {@code PropertyPlaceholderHelper} that uses the supplied prefix and suffix.
@@ -127,61 +135,94 @@ public class PropertyPlaceholderHelper {
     protected String parseStringValue(
             String value, PlaceholderResolver placeholderResolver, Set<String> visitedPlaceholders) {
 
-        StringBuilder result = new StringBuilder(value);
+        if (!value.contains(this.placeholderPrefix)) {
+            return value;
+        }
+        // Only cache top-level values: nested keys and resolved values rarely recur as such.
+        ParsedValue parsedValue = (visitedPlaceholders.isEmpty() ?
+                this.parsedValueCache.get(value) : parse(value));
+        if (parsedValue.parts.length == 1 && parsedValue.parts[0] == value) {
+            return value;
+        }
 
-        int startIndex = value.indexOf(this.placeholderPrefix);
-        while (startIndex != -1) {
-            int endIndex = findPlaceholderEndIndex(result, startIndex);
-            if (endIndex != -1) {
-                String placeholder = result.substring(startIndex + this.placeholderPrefix.length(), endIndex);
-                String originalPlaceholder = placeholder;
-                if (!visitedPlaceholders.add(originalPlaceholder)) {
-                    throw new IllegalArgumentException(
-                            "Circular placeholder reference '" + originalPlaceholder + "' in property definitions");
-                }
-                // Recursive invocation, parsing placeholders contained in the placeholder key.
-                placeholder = parseStringValue(placeholder, placeholderResolver, visitedPlaceholders);
-                // Now obtain the value for the fully resolved key...
-                String propVal = placeholderResolver.resolvePlaceholder(placeholder);
-                if (propVal == null && this.valueSeparator != null) {
-                    int separatorIndex = placeholder.indexOf(this.valueSeparator);
-                    if (separatorIndex != -1) {
-                        String actualPlaceholder = placeholder.substring(0, separatorIndex);
-                        String defaultValue = placeholder.substring(separatorIndex + this.valueSeparator.length());
-                        propVal = placeholderResolver.resolvePlaceholder(actualPlaceholder);
-                        if (propVal == null) {
-                            propVal = defaultValue;
-                        }
-                    }
-                }
-                if (propVal != null) {
-                    // Recursive invocation, parsing placeholders contained in the
-                    // previously resolved placeholder value.
-                    propVal = parseStringValue(propVal, placeholderResolver, visitedPlaceholders);
-                    result.replace(startIndex, endIndex + this.placeholderSuffix.length(), propVal);
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("Resolved placeholder '" + placeholder + "'");
+        StringBuilder result = new StringBuilder(value.length());
+        for (Object part : parsedValue.parts) {
+            if (!(part instanceof Placeholder)) {
+                result.append((String) part);
+                continue;
+            }
+            String originalPlaceholder = ((Placeholder) part).text;
+            if (!visitedPlaceholders.add(originalPlaceholder)) {
+                throw new IllegalArgumentException(
+                        "Circular placeholder reference '" + originalPlaceholder + "' in property definitions");
+            }
+            // Recursive invocation, parsing placeholders contained in the placeholder key.
+            String placeholder = parseStringValue(originalPlaceholder, placeholderResolver, visitedPlaceholders);
+            // Now obtain the value for the fully resolved key...
+            String propVal = placeholderResolver.resolvePlaceholder(placeholder);
+            if (propVal == null && this.valueSeparator != null) {
+                int separatorIndex = placeholder.indexOf(this.valueSeparator);
+                if (separatorIndex != -1) {
+                    String actualPlaceholder = placeholder.substring(0, separatorIndex);
+                    String defaultValue = placeholder.substring(separatorIndex + this.valueSeparator.length());
+                    propVal = placeholderResolver.resolvePlaceholder(actualPlaceholder);
+                    if (propVal == null) {
+                        propVal = defaultValue;
                     }
-                    startIndex = result.indexOf(this.placeholderPrefix, startIndex + propVal.length());
                 }
-                else if (this.ignoreUnresolvablePlaceholders) {
-                    // Proceed with unprocessed value.
-                    startIndex = result.indexOf(this.placeholderPrefix, endIndex + this.placeholderSuffix.length());
-                }
-                else {
-                    throw new IllegalArgumentException("Could not resolve placeholder '" +
-                            placeholder + "'" + " in value \"" + value + "\"");
+            }
+            if (propVal != null) {
+                // Recursive invocation, parsing placeholders contained in the
+                // previously resolved placeholder value.
+                propVal = parseStringValue(propVal, placeholderResolver, visitedPlaceholders);
+                result.append(propVal);
+                if (logger.isTraceEnabled()) {
+                    logger.trace("Resolved placeholder '" + placeholder + "'");
                 }
-                visitedPlaceholders.remove(originalPlaceholder);
+            }
+            else if (this.ignoreUnresolvablePlaceholders) {
+                // Proceed with unprocessed value.
+                result.append(this.placeholderPrefix).append(originalPlaceholder).append(this.placeholderSuffix);
             }
             else {
-                startIndex = -1;
+                throw new IllegalArgumentException("Could not resolve placeholder '" +
+                        placeholder + "'" + " in value \"" + value + "\"");
             }
+            visitedPlaceholders.remove(originalPlaceholder);
         }
 
         return result.toString();
     }
 
+    /**
+     * Split the given value into literal parts and placeholders, in a single pass.
+     * Text after a placeholder prefix without matching suffix remains literal.
+     */
+    private ParsedValue parse(String value) {
+        List<Object> parts = new ArrayList<>();
+        int position = 0;
+        int startIndex = value.indexOf(this.placeholderPrefix);
+        while (startIndex != -1) {
+            int endIndex = findPlaceholderEndIndex(value, startIndex);
+            if (endIndex == -1) {
+                break;
+            }
+            if (startIndex > position) {
+                parts.add(value.substring(position, startIndex));
+            }
+            parts.add(new Placeholder(value.substring(startIndex + this.placeholderPrefix.length(), endIndex)));
+            position = endIndex + this.placeholderSuffix.length();
+            startIndex = value.indexOf(this.placeholderPrefix, position);
+        }
+        if (position == 0) {
+            parts.add(value);
+        }
+        else if (position < value.length()) {
+            parts.add(value.substring(position));
+        }
+        return new ParsedValue(parts.toArray());
+    }
+
     private int findPlaceholderEndIndex(CharSequence buf, int startIndex) {
         int index = startIndex + this.placeholderPrefix.length();
         int withinNestedPlaceholder = 0;
@@ -207,6 +248,32 @@ public class PropertyPlaceholderHelper {
     }
 
 
+    /**
+     * A value split into literal {@code String} parts and {@link Placeholder} parts.
+     */
+    private static final class ParsedValue {
+
+        final Object[] parts;
+
+        ParsedValue(Object[] parts) {
+            this.parts = parts;
+        }
+    }
+
+
+    /**
+     * A placeholder within a parsed value, holding the text between prefix and suffix.
+     */
+    private static final class Placeholder {
+
+        final String text;
+
+        Placeholder(String text) {
+            this.text = text;
+        }
+    }
+
+
     /**
      * Strategy interface used to resolve replacement values for placeholders contained in Strings.
      */